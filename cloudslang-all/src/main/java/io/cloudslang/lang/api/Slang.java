@@ -13,11 +13,13 @@ import io.cloudslang.lang.compiler.PrecompileStrategy;
 import io.cloudslang.lang.compiler.SlangSource;
 import io.cloudslang.lang.compiler.modeller.model.Metadata;
 import io.cloudslang.lang.compiler.modeller.result.CompilationModellingResult;
+import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
 import io.cloudslang.lang.entities.CompilationArtifact;
 import io.cloudslang.lang.entities.SensitivityLevel;
 import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.score.events.ScoreEventListener;
+import java.io.File;
 import java.util.Map;
 import java.util.Set;
 
@@ -52,6 +54,15 @@ public interface Slang {
             Set<SlangSource> dependencies,
             PrecompileStrategy precompileStrategy);
 
+    /**
+     * Pre-compile a CloudSlang source to its model, without its dependencies
+     *
+     * @param source the CloudSlang source file
+     * @param precompileStrategy with / without cache
+     * @return the model (may be partially correct) and the accumulated errors
+     */
+    ExecutableModellingResult preCompileSource(SlangSource source, PrecompileStrategy precompileStrategy);
+
     /**
      * Extract the metadata of a flow or operation written in CloudSlang
      *
@@ -102,6 +113,32 @@ public interface Slang {
      */
     void invalidateAllInPreCompileCache();
 
+    /**
+     * Save a compiled flow or operation to a bundle file, so it can be loaded instead of compiled again
+     *
+     * @param compilationArtifact the compiled artifact of the flow or operation
+     * @param source              the CloudSlang source the artifact was compiled from
+     * @param dependencies        the CloudSlang sources of all the flow or operation's dependencies
+     * @param bundleFile          the file to save the bundle to
+     */
+    void saveCompilationArtifact(CompilationArtifact compilationArtifact,
+                                 SlangSource source,
+                                 Set<SlangSource> dependencies,
+                                 File bundleFile);
+
+    /**
+     * Load a compiled flow or operation from a bundle file
+     *
+     * @param bundleFile   the file the bundle was saved to
+     * @param source       the current CloudSlang source of the flow or operation
+     * @param dependencies the current CloudSlang sources of all the flow or operation's dependencies
+     * @return the compiled artifact, or null if there is no bundle or it was compiled from other sources
+     * or by another version of CloudSlang
+     */
+    CompilationArtifact loadCompilationArtifact(File bundleFile,
+                                                SlangSource source,
+                                                Set<SlangSource> dependencies);
+
     /**
      * Run a flow or operation written in CloudSlang already compiled to a compilationArtifact
      *
@@ -13,8 +13,10 @@ import io.cloudslang.lang.compiler.MetadataExtractor;
 import io.cloudslang.lang.compiler.PrecompileStrategy;
 import io.cloudslang.lang.compiler.SlangCompiler;
 import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.compiler.caching.CompilationArtifactBundle;
 import io.cloudslang.lang.compiler.modeller.model.Metadata;
 import io.cloudslang.lang.compiler.modeller.result.CompilationModellingResult;
+import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
 import io.cloudslang.lang.entities.CompilationArtifact;
 import io.cloudslang.lang.entities.ScoreLangConstants;
 import io.cloudslang.lang.entities.SensitivityLevel;
@@ -26,7 +28,16 @@ import io.cloudslang.score.api.TriggeringProperties;
 import io.cloudslang.score.events.EventBus;
 import io.cloudslang.score.events.EventConstants;
 import io.cloudslang.score.events.ScoreEventListener;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -102,6 +113,65 @@ public class SlangImpl implements Slang {
         compiler.invalidateAllInPreCompileCache();
     }
 
+    @Override
+    public void saveCompilationArtifact(CompilationArtifact compilationArtifact,
+                                        SlangSource source,
+                                        Set<SlangSource> dependencies,
+                                        File bundleFile) {
+        Validate.notNull(compilationArtifact, "Compilation artifact can not be null");
+        Validate.notNull(source, "Source can not be null");
+        Validate.notNull(bundleFile, "Bundle file can not be null");
+        String sourceHash = CompilationArtifactBundle.getSourceHash(source, dependencies);
+
+        Path target = bundleFile.toPath().toAbsolutePath();
+        Path tempFile = null;
+        try {
+            Files.createDirectories(target.getParent());
+            tempFile = Files.createTempFile(target.getParent(), bundleFile.getName(), ".tmp");
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+                CompilationArtifactBundle.write(compilationArtifact, sourceHash, outputStream);
+            }
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.error("Failed saving compilation artifact of source : " + source.getName() +
+                    " ,Exception is : " + e.getMessage());
+            throw new RuntimeException("Failed saving compilation artifact of source : " + source.getName() +
+                    " ,Exception is : " + e.getMessage(), e);
+        } finally {
+            if (tempFile != null) {
+                deleteQuietly(tempFile);
+            }
+        }
+    }
+
+    @Override
+    public CompilationArtifact loadCompilationArtifact(File bundleFile,
+                                                       SlangSource source,
+                                                       Set<SlangSource> dependencies) {
+        Validate.notNull(bundleFile, "Bundle file can not be null");
+        Validate.notNull(source, "Source can not be null");
+        if (!bundleFile.isFile()) {
+            return null;
+        }
+        String sourceHash = CompilationArtifactBundle.getSourceHash(source, dependencies);
+
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(bundleFile.toPath()))) {
+            return CompilationArtifactBundle.read(inputStream, sourceHash);
+        } catch (IOException e) {
+            // e.g. a bundle of classes that changed since, the source is compiled instead
+            logger.debug("Unreadable compilation artifact bundle : " + bundleFile, e);
+            return null;
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // nothing to clean up
+        }
+    }
+
     @Override
     public CompilationModellingResult compileSource(SlangSource source, Set<SlangSource> dependencies) {
         return compileSource(source, dependencies, PrecompileStrategy.WITHOUT_CACHE);
@@ -137,6 +207,20 @@ public class SlangImpl implements Slang {
         return dependencySources;
     }
 
+    @Override
+    public ExecutableModellingResult preCompileSource(SlangSource source, PrecompileStrategy precompileStrategy) {
+        Validate.notNull(source, "Source can not be null");
+        Validate.notNull(precompileStrategy, "Pre-compile strategy can not be null");
+        try {
+            return compiler.preCompileSource(source, precompileStrategy);
+        } catch (Exception e) {
+            logger.error("Failed pre-compilation for source : " + source.getName() + " ,Exception is : " +
+                    e.getMessage());
+            throw new RuntimeException("Failed pre-compilation for source : " + source.getName() +
+                    " ,Exception is : " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public Metadata extractMetadata(SlangSource source) {
         Validate.notNull(source, "Source can not be null");
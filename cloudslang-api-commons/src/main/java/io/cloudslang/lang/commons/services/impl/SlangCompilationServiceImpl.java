@@ -16,20 +16,32 @@ import io.cloudslang.lang.compiler.Extension;
 import io.cloudslang.lang.compiler.PrecompileStrategy;
 import io.cloudslang.lang.compiler.SlangSource;
 import io.cloudslang.lang.compiler.modeller.result.CompilationModellingResult;
+import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.IOFileFilter;
 import org.apache.commons.io.filefilter.TrueFileFilter;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import static io.cloudslang.lang.entities.properties.SlangSystemPropertyConstant.CSLANG_COMPILATION_THREADS;
+
 @Service
 public class SlangCompilationServiceImpl implements SlangCompilationService {
 
@@ -44,24 +56,124 @@ public class SlangCompilationServiceImpl implements SlangCompilationService {
         List<CompilationModellingResult> results = new ArrayList<>();
         try {
             Set<SlangSource> dependencySources = getSourcesFromFolders(foldersPaths);
-            for (SlangSource dependencySource : dependencySources) {
-                File file = getFile(dependencySource.getFilePath());
+            List<SlangSource> sources = sortByFilePath(dependencySources);
+            int compilationThreads = getCompilationThreads();
+            if (compilationThreads > 1 && sources.size() > 1) {
+                compileInParallel(sources, dependencySources, compilationHelper, results, compilationThreads);
+            } else {
+                for (SlangSource source : sources) {
+                    File file = getFile(source.getFilePath());
+                    compilationHelper.onEveryFile(file);
+                    try {
+                        CompilationModellingResult result =
+                                slang.compileSource(source, dependencySources, PrecompileStrategy.WITH_CACHE);
+                        result.setFile(file);
+                        results.add(result);
+                    } catch (Exception e) {
+                        logCompilationFailure(file, e);
+                    }
+                }
+            }
+        } finally {
+            compilationHelper.onCompilationFinish();
+            slang.invalidateAllInPreCompileCache();
+        }
+        return results;
+    }
+
+    /**
+     * Compiles the sources in a worker pool: first every source is pre-compiled once into the pre-compile cache,
+     * then every source is compiled against the cached models of its dependencies.
+     * The files are reported and the results are returned in the order of the sources,
+     * whatever the order the workers finish in.
+     */
+    private void compileInParallel(List<SlangSource> sources, final Set<SlangSource> dependencySources,
+                                   CompilationHelper compilationHelper, List<CompilationModellingResult> results,
+                                   int compilationThreads) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(compilationThreads, sources.size()));
+        try {
+            List<Future<ExecutableModellingResult>> preCompilations = new ArrayList<>(sources.size());
+            for (final SlangSource source : sources) {
+                preCompilations.add(executor.submit(new Callable<ExecutableModellingResult>() {
+                    @Override
+                    public ExecutableModellingResult call() {
+                        return slang.preCompileSource(source, PrecompileStrategy.WITH_CACHE);
+                    }
+                }));
+            }
+            for (Future<ExecutableModellingResult> preCompilation : preCompilations) {
+                try {
+                    getResult(preCompilation);
+                } catch (Exception ignore) {
+                    // reported by the compilation of the source
+                }
+            }
+
+            List<Future<CompilationModellingResult>> compilations = new ArrayList<>(sources.size());
+            for (final SlangSource source : sources) {
+                compilations.add(executor.submit(new Callable<CompilationModellingResult>() {
+                    @Override
+                    public CompilationModellingResult call() {
+                        return slang.compileSource(source, dependencySources, PrecompileStrategy.WITH_CACHE);
+                    }
+                }));
+            }
+            for (int index = 0; index < sources.size(); index++) {
+                File file = getFile(sources.get(index).getFilePath());
                 compilationHelper.onEveryFile(file);
                 try {
-                    CompilationModellingResult result =
-                            slang.compileSource(dependencySource, dependencySources, PrecompileStrategy.WITH_CACHE);
+                    CompilationModellingResult result = getResult(compilations.get(index));
                     result.setFile(file);
                     results.add(result);
                 } catch (Exception e) {
-                    logger.error("Failed compilation for file : " + file.getName() +
-                            " ,Exception is : " + e.getMessage());
+                    logCompilationFailure(file, e);
                 }
             }
         } finally {
-            compilationHelper.onCompilationFinish();
-            slang.invalidateAllInPreCompileCache();
+            executor.shutdownNow();
+        }
+    }
+
+    private <T> T getResult(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Compilation was interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof Exception ? (Exception) cause : e;
+        }
+    }
+
+    private void logCompilationFailure(File file, Exception e) {
+        logger.error("Failed compilation for file : " + file.getName() +
+                " ,Exception is : " + e.getMessage());
+    }
+
+    private List<SlangSource> sortByFilePath(Set<SlangSource> sources) {
+        List<SlangSource> sortedSources = new ArrayList<>(sources);
+        Collections.sort(sortedSources, new Comparator<SlangSource>() {
+            @Override
+            public int compare(SlangSource source1, SlangSource source2) {
+                return ObjectUtils.compare(source1.getFilePath(), source2.getFilePath());
+            }
+        });
+        return sortedSources;
+    }
+
+    private int getCompilationThreads() {
+        String compilationThreads = System.getProperty(CSLANG_COMPILATION_THREADS.getValue());
+        if (StringUtils.isBlank(compilationThreads)) {
+            return 1;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(compilationThreads.trim()));
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid value for " + CSLANG_COMPILATION_THREADS.getValue() + ": '" + compilationThreads +
+                    "', compiling in a single thread");
+            return 1;
         }
-        return results;
     }
 
     @Override
@@ -29,12 +29,15 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
+import static io.cloudslang.lang.entities.properties.SlangSystemPropertyConstant.CSLANG_COMPILATION_THREADS;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @RunWith(SpringJUnit4ClassRunner.class)
@@ -85,6 +88,36 @@ public class SlangCompilationServiceImplTest {
         inOrder.verifyNoMoreInteractions();
     }
 
+    @Test
+    public void testCompileFoldersInParallel() throws Exception {
+        List<String> folders = new ArrayList<>();
+        folders.add(getClass().getResource("/executables").toURI().getPath());
+        reset(compilationHelper, slang);
+        System.setProperty(CSLANG_COMPILATION_THREADS.getValue(), "4");
+        try {
+            slangCompilationService.compileFolders(folders, compilationHelper);
+        } finally {
+            System.clearProperty(CSLANG_COMPILATION_THREADS.getValue());
+        }
+
+        File file1 = new File(getClass().getResource("/executables/dir1/flow2.sl").toURI());
+        File file2 = new File(getClass().getResource("/executables/dir2/flowprop.sl").toURI());
+        File file3 = new File(getClass().getResource("/executables/dir3/dir3_1/test_op.sl").toURI());
+        File file4 = new File(getClass().getResource("/executables/dir3/flow.sl").toURI());
+
+        InOrder inOrderHelper = inOrder(compilationHelper);
+        inOrderHelper.verify(compilationHelper).onEveryFile(file1);
+        inOrderHelper.verify(compilationHelper).onEveryFile(file2);
+        inOrderHelper.verify(compilationHelper).onEveryFile(file3);
+        inOrderHelper.verify(compilationHelper).onEveryFile(file4);
+        inOrderHelper.verify(compilationHelper).onCompilationFinish();
+
+        verify(slang, times(4)).preCompileSource(any(SlangSource.class), eq(PrecompileStrategy.WITH_CACHE));
+        verify(slang, times(4)).compileSource(
+                any(SlangSource.class), any(Set.class), eq(PrecompileStrategy.WITH_CACHE));
+        verify(slang).invalidateAllInPreCompileCache();
+    }
+
     @Configuration
     static class Config {
 
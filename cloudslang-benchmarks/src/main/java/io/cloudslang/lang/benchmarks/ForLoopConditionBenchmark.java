@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.benchmarks;
+
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import io.cloudslang.lang.runtime.env.ForLoopCondition;
+import io.cloudslang.lang.runtime.env.LoopCondition;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Time to run a for loop over all its items, one operation being the whole loop.
+ * <p>
+ * The items are either a list, which is iterated by index, or a set, which is copied once.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ForLoopConditionBenchmark {
+
+    @Param({"10000", "100000"})
+    private int items;
+
+    @Param({"list", "set"})
+    private String collection;
+
+    private Collection<Serializable> loopItems;
+
+    @Setup
+    public void setUp() {
+        loopItems = collection.equals("list") ? new ArrayList<Serializable>(items) :
+                new LinkedHashSet<Serializable>(items);
+        for (int index = 0; index < items; index++) {
+            loopItems.add(ValueFactory.create(index));
+        }
+    }
+
+    /**
+     * As run by a step: hasMore is called both before and after each iteration
+     */
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        LoopCondition loopCondition = new ForLoopCondition(loopItems);
+        while (loopCondition.hasMore()) {
+            blackhole.consume(loopCondition.next());
+            loopCondition.hasMore();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.benchmarks;
+
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.python.core.Py;
+import org.python.core.PyObject;
+
+/**
+ * Cost of a python call on a string, list and dict value, as made by the expressions of a flow.
+ * <p>
+ * With proxied=true the calls go through the PyObjectValue proxy, otherwise they are made
+ * on the plain python object, which is the lower bound for the proxy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+// javassist defines the proxy classes through ClassLoader.defineClass, which has to be opened on java 9+
+@Fork(value = 1, jvmArgsAppend = {"-XX:+IgnoreUnrecognizedVMOptions", "--add-opens=java.base/java.lang=ALL-UNNAMED"})
+@State(Scope.Thread)
+public class PyObjectValueProxyBenchmark {
+
+    @Param({"true", "false"})
+    private boolean proxied;
+
+    private PyObject string;
+    private PyObject otherString;
+    private PyObject list;
+    private PyObject dict;
+    private PyObject index;
+    private PyObject key;
+
+    @Setup
+    public void setUp() {
+        HashMap<String, String> map = new HashMap<>();
+        map.put("key", "value");
+        map.put("other_key", "other_value");
+
+        string = createPyObject("value");
+        otherString = createPyObject("value");
+        list = createPyObject(new ArrayList<>(Arrays.asList("value1", "value2", "value3")));
+        dict = createPyObject(map);
+        index = Py.newInteger(1);
+        key = Py.newString("key");
+    }
+
+    private PyObject createPyObject(Serializable content) {
+        return proxied ? (PyObject) ValueFactory.createPyObjectValue(content, false) : Py.java2py(content);
+    }
+
+    @Benchmark
+    public PyObject stringEquals() {
+        return string.__eq__(otherString);
+    }
+
+    @Benchmark
+    public int stringLength() {
+        return string.__len__();
+    }
+
+    @Benchmark
+    public PyObject listGetItem() {
+        return list.__getitem__(index);
+    }
+
+    @Benchmark
+    public int listLength() {
+        return list.__len__();
+    }
+
+    @Benchmark
+    public PyObject dictFindItem() {
+        return dict.__finditem__(key);
+    }
+
+    @Benchmark
+    public int dictLength() {
+        return dict.__len__();
+    }
+}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.benchmarks;
+
+import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.compiler.configuration.SlangCompilerSpringConfig;
+import io.cloudslang.lang.compiler.parser.YamlParser;
+import io.cloudslang.lang.compiler.parser.model.ParsedSlang;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.yaml.snakeyaml.Yaml;
+
+/**
+ * Time to parse a corpus of generated flows into {@link ParsedSlang}, one operation being the whole corpus.
+ * <p>
+ * parseCorpus uses the {@link YamlParser} of the compiler. parseCorpusWithNewYamlPerSource gets a new
+ * {@link Yaml} from the compiler configuration for every source, as the parser did before it kept
+ * an instance per thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class YamlParserBenchmark {
+
+    private static final String NAMESPACE = "io.cloudslang.benchmarks";
+
+    @Param({"5000"})
+    private int sources;
+
+    @Param({"5"})
+    private int steps;
+
+    private AnnotationConfigApplicationContext context;
+    private YamlParser yamlParser;
+    private List<SlangSource> corpus;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(SlangCompilerSpringConfig.class);
+        yamlParser = context.getBean(YamlParser.class);
+        corpus = new ArrayList<>(sources);
+        for (int index = 0; index < sources; index++) {
+            corpus.add(new SlangSource(createFlow(index), "flow_" + index + ".sl"));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void parseCorpus(Blackhole blackhole) {
+        for (SlangSource source : corpus) {
+            blackhole.consume(yamlParser.parse(source));
+        }
+    }
+
+    @Benchmark
+    public void parseCorpusWithNewYamlPerSource(Blackhole blackhole) {
+        for (SlangSource source : corpus) {
+            blackhole.consume(context.getBean(Yaml.class).loadAs(source.getContent(), ParsedSlang.class));
+        }
+    }
+
+    private String createFlow(int index) {
+        StringBuilder flow = new StringBuilder()
+                .append("namespace: ").append(NAMESPACE).append("\n\n")
+                .append("imports:\n")
+                .append("  ops: ").append(NAMESPACE).append(".ops\n\n")
+                .append("flow:\n")
+                .append("  name: flow_").append(index).append("\n")
+                .append("  inputs:\n")
+                .append("    - input1\n")
+                .append("    - input2:\n")
+                .append("        default: 'value2'\n")
+                .append("        required: false\n")
+                .append("  workflow:\n");
+        for (int step = 1; step <= steps; step++) {
+            String next = step < steps ? "step_" + (step + 1) : "SUCCESS";
+            flow.append("    - step_").append(step).append(":\n")
+                    .append("        do:\n")
+                    .append("          ops.op_").append(step).append(":\n")
+                    .append("            - arg1: ${input1}\n")
+                    .append("            - arg2: ${input2 + '_").append(step).append("'}\n")
+                    .append("        publish:\n")
+                    .append("          - output_").append(step).append(": ${return_result}\n")
+                    .append("        navigate:\n")
+                    .append("          - SUCCESS: ").append(next).append("\n")
+                    .append("          - FAILURE: FAILURE\n");
+        }
+        return flow.append("  outputs:\n")
+                .append("    - flow_output: ${output_").append(steps).append("}\n")
+                .append("  results:\n")
+                .append("    - SUCCESS\n")
+                .append("    - FAILURE\n")
+                .toString();
+    }
+}
@@ -32,6 +32,7 @@ import org.yaml.snakeyaml.Yaml;
 
 import java.io.File;
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -40,8 +41,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 
 import static ch.lambdaj.Lambda.convert;
+import static io.cloudslang.lang.entities.properties.SlangSystemPropertyConstant.CSLANG_ARTIFACT_BUNDLE_DIR;
+import static io.cloudslang.lang.entities.properties.SlangSystemPropertyConstant.CSLANG_ARTIFACT_BUNDLE_ENABLED;
 
 /**
  * @author lesant
@@ -56,6 +60,7 @@ public class CompilerHelperImpl implements CompilerHelper {
     private static final String INPUT_DIR = "inputs";
     private static final String CONFIG_DIR = "configuration";
     private static final String DUPLICATE_SYSTEM_PROPERTY_ERROR_MESSAGE_PREFIX = "Duplicate system property: '";
+    private static final String BUNDLE_EXTENSION = ".cslb";
 
     @Autowired
     private Slang slang;
@@ -77,13 +82,50 @@ public class CompilerHelperImpl implements CompilerHelper {
         File file = slangCompilationService.getFile(filePath);
 
         try {
-            return slang.compile(SlangSource.fromFile(file), getDependencySources(dependencies, file));
+            SlangSource source = SlangSource.fromFile(file);
+            Set<SlangSource> dependencySources = getDependencySources(dependencies, file);
+            File bundleFile = getBundleFile(file);
+            if (bundleFile == null) {
+                return slang.compile(source, dependencySources);
+            }
+
+            CompilationArtifact compilationArtifact =
+                    slang.loadCompilationArtifact(bundleFile, source, dependencySources);
+            if (compilationArtifact == null) {
+                compilationArtifact = slang.compile(source, dependencySources);
+                saveCompilationArtifact(compilationArtifact, source, dependencySources, bundleFile);
+            }
+            return compilationArtifact;
         } catch (Exception e) {
             handleException(file, e);
             return null;
         }
     }
 
+    /**
+     * @return the bundle of the compiled file, or null if bundles are not enabled
+     */
+    private File getBundleFile(File file) {
+        String bundleDir = System.getProperty(CSLANG_ARTIFACT_BUNDLE_DIR.getValue());
+        if (!Boolean.getBoolean(CSLANG_ARTIFACT_BUNDLE_ENABLED.getValue()) || StringUtils.isBlank(bundleDir)) {
+            return null;
+        }
+        // one bundle per source file; the bundle itself checks that the sources did not change
+        String bundleName = UUID.nameUUIDFromBytes(file.getAbsolutePath().getBytes(StandardCharsets.UTF_8)) +
+                BUNDLE_EXTENSION;
+        return new File(bundleDir, bundleName);
+    }
+
+    private void saveCompilationArtifact(CompilationArtifact compilationArtifact, SlangSource source,
+                                         Set<SlangSource> dependencySources, File bundleFile) {
+        try {
+            slang.saveCompilationArtifact(compilationArtifact, source, dependencySources, bundleFile);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to save compilation artifact bundle for file : " + source.getName() +
+                    " ,Exception is : " + e.getMessage());
+        }
+    }
+
     @Override
     public CompilationModellingResult compileSource(String filePath, List<String> dependencies) {
         File file = slangCompilationService.getFile(filePath);
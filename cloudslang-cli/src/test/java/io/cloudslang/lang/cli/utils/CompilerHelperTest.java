@@ -20,9 +20,12 @@ import io.cloudslang.lang.commons.services.impl.SlangCompilationServiceImpl;
 import io.cloudslang.lang.commons.services.impl.SlangSourceServiceImpl;
 import io.cloudslang.lang.compiler.PrecompileStrategy;
 import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.entities.CompilationArtifact;
 import io.cloudslang.lang.entities.SystemProperty;
+import io.cloudslang.lang.entities.bindings.Input;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.lang.entities.encryption.DummyEncryptor;
+import io.cloudslang.score.api.ExecutionPlan;
 import java.io.File;
 import java.io.Serializable;
 import java.net.URI;
@@ -43,6 +46,7 @@ import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
@@ -55,6 +59,8 @@ import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.introspector.BeanAccess;
 
 import static com.google.common.collect.Sets.newHashSet;
+import static io.cloudslang.lang.entities.properties.SlangSystemPropertyConstant.CSLANG_ARTIFACT_BUNDLE_DIR;
+import static io.cloudslang.lang.entities.properties.SlangSystemPropertyConstant.CSLANG_ARTIFACT_BUNDLE_ENABLED;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
@@ -64,6 +70,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @RunWith(SpringJUnit4ClassRunner.class)
@@ -84,6 +91,9 @@ public class CompilerHelperTest {
     @Rule
     public ExpectedException expectedException = ExpectedException.none();
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test(expected = NullPointerException.class)
     public void testFilePathWrong() throws Exception {
         compilerHelper.compile(null, null);
@@ -158,6 +168,42 @@ public class CompilerHelperTest {
         inOrder.verifyNoMoreInteractions();
     }
 
+    @Test
+    public void testCompileUsesArtifactBundleWhenEnabled() throws Exception {
+        final URI flowPath = getClass().getResource("/executables/dir3/flow.sl").toURI();
+        final SlangSource flowSource = SlangSource.fromFile(flowPath);
+        final Set<SlangSource> dependencies = newHashSet(
+                SlangSource.fromFile(getClass().getResource("/executables/dir3/dir3_1/test_op.sl").toURI()),
+                flowSource);
+        final CompilationArtifact compilationArtifact = new CompilationArtifact(new ExecutionPlan(),
+                new HashMap<String, ExecutionPlan>(), new ArrayList<Input>(), new HashSet<String>());
+        System.setProperty(CSLANG_ARTIFACT_BUNDLE_ENABLED.getValue(), "true");
+        System.setProperty(CSLANG_ARTIFACT_BUNDLE_DIR.getValue(), temporaryFolder.getRoot().getAbsolutePath());
+        try {
+            when(slang.compile(flowSource, dependencies)).thenReturn(compilationArtifact);
+            Assert.assertEquals(compilationArtifact, compilerHelper.compile(flowPath.getPath(), null));
+
+            ArgumentCaptor<File> bundleCaptor = ArgumentCaptor.forClass(File.class);
+            InOrder inOrder = inOrder(slang);
+            inOrder.verify(slang).loadCompilationArtifact(bundleCaptor.capture(), eq(flowSource), eq(dependencies));
+            inOrder.verify(slang).compile(flowSource, dependencies);
+            inOrder.verify(slang).saveCompilationArtifact(compilationArtifact, flowSource, dependencies,
+                    bundleCaptor.getValue());
+            inOrder.verifyNoMoreInteractions();
+            Assert.assertEquals(temporaryFolder.getRoot(), bundleCaptor.getValue().getParentFile());
+
+            reset(slang);
+            when(slang.loadCompilationArtifact(bundleCaptor.getValue(), flowSource, dependencies))
+                    .thenReturn(compilationArtifact);
+            Assert.assertEquals(compilationArtifact, compilerHelper.compile(flowPath.getPath(), null));
+            verify(slang).loadCompilationArtifact(bundleCaptor.getValue(), flowSource, dependencies);
+            verifyNoMoreInteractions(slang);
+        } finally {
+            System.clearProperty(CSLANG_ARTIFACT_BUNDLE_ENABLED.getValue());
+            System.clearProperty(CSLANG_ARTIFACT_BUNDLE_DIR.getValue());
+        }
+    }
+
     @Test
     public void testFilePathValidWithOtherPathForDependencies() throws Exception {
         final URI flowFilePath = getClass().getResource("/flow.sl").toURI();
@@ -24,10 +24,21 @@ import java.nio.charset.StandardCharsets;
 
 public class SlangSource {
 
+    /**
+     * coarsest modification time resolution of the common file systems
+     */
+    private static final long FILE_TIME_GRANULARITY = 2000;
+
     private final String content;
     private final String name;
     private final String filePath;
     private final Extension fileExtension;
+    /**
+     * length and modification time of the file before it was read, -1 when not read from a file
+     * or when the file was modified too recently for the modification time to tell later changes apart
+     */
+    private final long fileLength;
+    private final long fileLastModified;
 
     public SlangSource(String content, String name) {
         Validate.notNull(content, "Source cannot be null");
@@ -35,15 +46,20 @@ public class SlangSource {
         this.name = name;
         this.filePath = null;
         this.fileExtension = null;
+        this.fileLength = -1;
+        this.fileLastModified = -1;
     }
 
-    private SlangSource(String content, String name, String filePath, Extension fileExtension) {
+    private SlangSource(String content, String name, String filePath, Extension fileExtension,
+                        long fileLength, long fileLastModified) {
         Validate.notNull(content, "Source cannot be null");
 
         this.content = content;
         this.name = name;
         this.filePath = filePath;
         this.fileExtension = fileExtension;
+        this.fileLength = fileLength;
+        this.fileLastModified = fileLastModified;
     }
 
     public static SlangSource fromFile(File file) {
@@ -51,6 +67,14 @@ public class SlangSource {
         Validate.isTrue(file.isFile(), "File content: " + file.getName() +
                 " doesn't lead to a file, directories are not supported");
 
+        // taken before reading, so a change during the read shows in the next modification time
+        long fileLength = file.length();
+        long fileLastModified = file.lastModified();
+        if (fileLastModified <= 0 || System.currentTimeMillis() - fileLastModified < FILE_TIME_GRANULARITY) {
+            fileLength = -1;
+            fileLastModified = -1;
+        }
+
         String content;
         try {
             content = readFileToString(file);
@@ -63,7 +87,7 @@ public class SlangSource {
         String filePath = getCanonicalFilePath(file);
 
         Extension extension = Extension.findExtension(fileName);
-        return new SlangSource(content, fileName, filePath, extension);
+        return new SlangSource(content, fileName, filePath, extension, fileLength, fileLastModified);
     }
 
     public static SlangSource fromFile(URI uri) {
@@ -112,6 +136,20 @@ public class SlangSource {
         return filePath;
     }
 
+    /**
+     * Tells by the file length and modification time, without comparing the contents,
+     * that both sources were read from the same unchanged file.
+     *
+     * @param other the source to compare to
+     * @return true if both sources were read from the same unchanged file,
+     * false if the file changed or if it can not be told without comparing the contents
+     */
+    public boolean hasSameFileStateAs(SlangSource other) {
+        return filePath != null && filePath.equals(other.filePath) &&
+                fileLastModified >= 0 && fileLastModified == other.fileLastModified &&
+                fileLength == other.fileLength;
+    }
+
     @Override
     public String toString() {
         return "SlangSource{" +
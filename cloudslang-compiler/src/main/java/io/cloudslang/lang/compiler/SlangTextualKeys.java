@@ -61,6 +61,7 @@ public interface SlangTextualKeys {
     String PUBLISH_KEY = "publish";
     String NAVIGATION_KEY = "navigate";
     String PARALLEL_LOOP_KEY = "parallel_loop";
+    String MAX_PARALLELISM_KEY = "max_parallelism";
 
     //seq step
     String SEQ_STEP_ID_KEY = "id";
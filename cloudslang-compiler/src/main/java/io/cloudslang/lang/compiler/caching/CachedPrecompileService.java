@@ -43,7 +43,8 @@ public interface CachedPrecompileService {
     void invalidateEntry(String path);
 
     /**
-     * Remove all cached values.
+     * Remove all cached values from memory.
+     * Values in the persistent cache are keyed by content, so they are never outdated and are kept.
      */
     void invalidateAll();
 }
@@ -13,15 +13,30 @@ import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import io.cloudslang.lang.compiler.SlangSource;
 import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
+import java.io.File;
+import java.util.Objects;
 import java.util.concurrent.TimeUnit;
-import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
 
 import javax.annotation.PostConstruct;
 
+import static io.cloudslang.lang.entities.properties.SlangSystemPropertyConstant.CSLANG_PRECOMPILE_CACHE_DIR;
+import static io.cloudslang.lang.entities.properties.SlangSystemPropertyConstant.CSLANG_PRECOMPILE_CACHE_ENABLED;
+import static io.cloudslang.lang.entities.properties.SlangSystemPropertyConstant.CSLANG_PRECOMPILE_CACHE_MAX_SIZE;
+
 public class CachedPrecompileServiceImpl implements CachedPrecompileService {
 
+    private static final String DEFAULT_PERSISTENT_CACHE_DIR = ".cslang" + File.separator + "cache";
+    private static final long DEFAULT_PERSISTENT_CACHE_MAX_SIZE_MB = 512;
+
     private Cache<String, CacheValue> cache;
 
+    /**
+     * optional, null when the persistent cache is disabled
+     */
+    private PersistentPrecompileCache persistentCache;
+
     @PostConstruct
     public void init() {
         cache = CacheBuilder.newBuilder()
@@ -29,6 +44,32 @@ public class CachedPrecompileServiceImpl implements CachedPrecompileService {
                 .concurrencyLevel(2 * Runtime.getRuntime().availableProcessors())
                 .expireAfterWrite(60, TimeUnit.MINUTES)
                 .build();
+        if (Boolean.getBoolean(CSLANG_PRECOMPILE_CACHE_ENABLED.getValue())) {
+            persistentCache = new PersistentPrecompileCache(getPersistentCacheDirectory(),
+                    getPersistentCacheMaxSizeMb() * 1024 * 1024);
+        }
+    }
+
+    private File getPersistentCacheDirectory() {
+        String directory = System.getProperty(CSLANG_PRECOMPILE_CACHE_DIR.getValue());
+        return StringUtils.isBlank(directory) ?
+                new File(System.getProperty("user.home"), DEFAULT_PERSISTENT_CACHE_DIR) :
+                new File(directory.trim());
+    }
+
+    private long getPersistentCacheMaxSizeMb() {
+        String maxSize = System.getProperty(CSLANG_PRECOMPILE_CACHE_MAX_SIZE.getValue());
+        if (StringUtils.isBlank(maxSize)) {
+            return DEFAULT_PERSISTENT_CACHE_MAX_SIZE_MB;
+        }
+        try {
+            long maxSizeMb = Long.parseLong(maxSize.trim());
+            Validate.isTrue(maxSizeMb > 0);
+            return maxSizeMb;
+        } catch (IllegalArgumentException ex) {
+            throw new RuntimeException("Invalid value for " + CSLANG_PRECOMPILE_CACHE_MAX_SIZE.getValue() +
+                    ": '" + maxSize + "', expected a positive size in MB", ex);
+        }
     }
 
     @Override
@@ -36,6 +77,9 @@ public class CachedPrecompileServiceImpl implements CachedPrecompileService {
         if (path != null) {
             CacheValue cacheValue = new CacheValue(source, modellingResult);
             cache.put(path, cacheValue);
+            if (persistentCache != null) {
+                persistentCache.put(source, modellingResult);
+            }
         }
     }
 
@@ -58,6 +102,14 @@ public class CachedPrecompileServiceImpl implements CachedPrecompileService {
                 executableModellingResult = cachedValue.getExecutableModellingResult();
             }
         }
+        if (state != CacheValueState.VALID && persistentCache != null) {
+            ExecutableModellingResult persistedResult = persistentCache.get(currentSource);
+            if (persistedResult != null) {
+                cache.put(path, new CacheValue(currentSource, persistedResult));
+                state = CacheValueState.VALID;
+                executableModellingResult = persistedResult;
+            }
+        }
         return new CacheResult(state, executableModellingResult);
     }
 
@@ -74,11 +126,13 @@ public class CachedPrecompileServiceImpl implements CachedPrecompileService {
     }
 
     boolean hasChangedSinceCached(SlangSource source1, SlangSource source2) {
-        String source1AsStr = source1.toString();
-        String source2AsStr = source2.toString();
-        return (source1AsStr.length() != source2AsStr.length()) ||
-                (!DigestUtils.md5Hex(source1AsStr).equals(DigestUtils.md5Hex(source2AsStr))) ||
-                (!DigestUtils.sha256Hex(source1AsStr).equals(DigestUtils.sha256Hex(source2AsStr)));
+        if (source1.hasSameFileStateAs(source2)) {
+            return false;
+        }
+        return !(Objects.equals(source1.getName(), source2.getName()) &&
+                Objects.equals(source1.getFilePath(), source2.getFilePath()) &&
+                source1.getFileExtension() == source2.getFileExtension() &&
+                source1.getContent().equals(source2.getContent()));
     }
 
 }
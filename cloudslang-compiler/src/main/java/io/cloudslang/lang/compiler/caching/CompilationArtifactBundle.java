@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.caching;
+
+import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.entities.CompilationArtifact;
+import io.cloudslang.lang.entities.bindings.Input;
+import io.cloudslang.score.api.ExecutionPlan;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Binary format of a compiled flow or operation, so it can be run without compiling its sources again.
+ * <p>
+ * A bundle starts with a header: a magic number, the format version, the version of the compiler that
+ * wrote it and a hash of the sources it was compiled from. The execution plans, inputs and system properties
+ * of the artifact follow. A bundle is used only if its header matches the current compiler and sources,
+ * so a stale bundle is never run.
+ */
+public final class CompilationArtifactBundle {
+
+    /**
+     * "CSLB"
+     */
+    private static final int MAGIC = 0x43534C42;
+    /**
+     * changed whenever the layout of the bundle changes
+     */
+    private static final int FORMAT_VERSION = 1;
+    /**
+     * filtered with the release version when the compiler is built
+     */
+    private static final String COMPILER_VERSION_RESOURCE = "compiler.properties";
+    private static final String COMPILER_VERSION_KEY = "compiler.version";
+    private static final String COMPILER_VERSION = loadCompilerVersion();
+
+    private CompilationArtifactBundle() {
+    }
+
+    /**
+     * @param artifact the compiled artifact to write
+     * @param sourceHash the hash of the sources the artifact was compiled from
+     * @param outputStream the stream to write the bundle to, not closed
+     * @throws IOException if the bundle can not be written, or the version of the compiler is unknown
+     */
+    public static void write(CompilationArtifact artifact, String sourceHash, OutputStream outputStream)
+            throws IOException {
+        write(artifact, sourceHash, COMPILER_VERSION, outputStream);
+    }
+
+    static void write(CompilationArtifact artifact, String sourceHash, String compilerVersion,
+                      OutputStream outputStream) throws IOException {
+        Validate.notNull(artifact, "Compilation artifact can not be null");
+        Validate.notNull(sourceHash, "Source hash can not be null");
+        if (compilerVersion == null) {
+            throw new IOException("Compiler version is unknown, the bundle could not be checked when read");
+        }
+
+        DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+        dataOutputStream.writeInt(MAGIC);
+        dataOutputStream.writeInt(FORMAT_VERSION);
+        dataOutputStream.writeUTF(compilerVersion);
+        dataOutputStream.writeUTF(sourceHash);
+
+        ObjectOutputStream objectOutputStream = new ObjectOutputStream(dataOutputStream);
+        objectOutputStream.writeObject(artifact.getExecutionPlan());
+        objectOutputStream.writeObject(artifact.getDependencies() == null ? null :
+                new HashMap<>(artifact.getDependencies()));
+        objectOutputStream.writeObject(artifact.getInputs() == null ? null : new ArrayList<>(artifact.getInputs()));
+        objectOutputStream.writeObject(artifact.getSystemProperties() == null ? null :
+                new HashSet<>(artifact.getSystemProperties()));
+        objectOutputStream.flush();
+    }
+
+    /**
+     * @param inputStream the stream to read the bundle from, not closed
+     * @param sourceHash the hash of the current sources
+     * @return the artifact, or null if the bundle was written by another compiler or from other sources,
+     * or the version of the compiler is unknown
+     * @throws IOException if the stream is not a readable bundle
+     */
+    public static CompilationArtifact read(InputStream inputStream, String sourceHash) throws IOException {
+        return read(inputStream, sourceHash, COMPILER_VERSION);
+    }
+
+    @SuppressWarnings("unchecked")
+    static CompilationArtifact read(InputStream inputStream, String sourceHash, String compilerVersion)
+            throws IOException {
+        Validate.notNull(sourceHash, "Source hash can not be null");
+        if (compilerVersion == null) {
+            return null;
+        }
+
+        DataInputStream dataInputStream = new DataInputStream(inputStream);
+        if (dataInputStream.readInt() != MAGIC) {
+            throw new IOException("Not a compilation artifact bundle");
+        }
+        if (dataInputStream.readInt() != FORMAT_VERSION ||
+                !compilerVersion.equals(dataInputStream.readUTF()) ||
+                !sourceHash.equals(dataInputStream.readUTF())) {
+            return null;
+        }
+
+        ObjectInputStream objectInputStream = new ObjectInputStream(dataInputStream);
+        try {
+            ExecutionPlan executionPlan = (ExecutionPlan) objectInputStream.readObject();
+            Map<String, ExecutionPlan> dependencies = (Map<String, ExecutionPlan>) objectInputStream.readObject();
+            List<Input> inputs = (List<Input>) objectInputStream.readObject();
+            Set<String> systemProperties = (Set<String>) objectInputStream.readObject();
+            return new CompilationArtifact(executionPlan, dependencies, inputs, systemProperties);
+        } catch (ClassNotFoundException | ClassCastException ex) {
+            throw new IOException("Corrupted compilation artifact bundle", ex);
+        }
+    }
+
+    /**
+     * @param source the source of the flow or operation
+     * @param dependencies the sources of its dependencies
+     * @return a hash of the name and content of all the sources, which does not depend on their order
+     */
+    public static String getSourceHash(SlangSource source, Set<SlangSource> dependencies) {
+        Validate.notNull(source, "Source can not be null");
+
+        List<SlangSource> dependencySources = new ArrayList<>();
+        if (dependencies != null) {
+            for (SlangSource dependency : dependencies) {
+                if (dependency != null) {
+                    dependencySources.add(dependency);
+                }
+            }
+        }
+        Collections.sort(dependencySources, new Comparator<SlangSource>() {
+            @Override
+            public int compare(SlangSource source1, SlangSource source2) {
+                int result = ObjectUtils.compare(source1.getName(), source2.getName());
+                return result != 0 ? result : ObjectUtils.compare(source1.getContent(), source2.getContent());
+            }
+        });
+
+        MessageDigest digest = DigestUtils.getSha256Digest();
+        updateDigest(digest, source);
+        for (SlangSource dependency : dependencySources) {
+            updateDigest(digest, dependency);
+        }
+        return Hex.encodeHexString(digest.digest());
+    }
+
+    private static void updateDigest(MessageDigest digest, SlangSource source) {
+        String sourceData = source.getName() + '\n' + source.getFileExtension() + '\n' +
+                StringUtils.length(source.getContent()) + '\n' + source.getContent() + '\n';
+        DigestUtils.updateDigest(digest, sourceData);
+    }
+
+    /**
+     * Unlike the pre-compile cache, bundles are meant to be copied between machines,
+     * so the compiler is identified by its release version only.
+     *
+     * @return the release version, or null if the compiler was not built with one
+     */
+    private static String loadCompilerVersion() {
+        try (InputStream versionStream = CompilationArtifactBundle.class
+                .getResourceAsStream(COMPILER_VERSION_RESOURCE)) {
+            if (versionStream == null) {
+                return null;
+            }
+            Properties properties = new Properties();
+            properties.load(versionStream);
+            String version = properties.getProperty(COMPILER_VERSION_KEY);
+            return (StringUtils.isBlank(version) || version.contains("${")) ? null : version.trim();
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+}
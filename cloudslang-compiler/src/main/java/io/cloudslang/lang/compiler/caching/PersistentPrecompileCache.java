@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.caching;
+
+import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.Validate;
+import org.apache.log4j.Logger;
+
+/**
+ * Pre-compiled models stored on disk, so they survive between CLI sessions and builds.
+ * <p>
+ * An entry is keyed by a hash of the source content and name and of the compiler build,
+ * so an entry never becomes outdated: a changed source or compiler is simply a new key.
+ * Entries are written to a temporary file and moved in place, so several processes can share the directory.
+ * When the entries exceed the size limit, the least recently used ones are deleted.
+ */
+public class PersistentPrecompileCache {
+
+    private static final Logger logger = Logger.getLogger(PersistentPrecompileCache.class);
+
+    /**
+     * changed whenever the format of the entries changes
+     */
+    private static final String FORMAT_VERSION = "1";
+    private static final String ENTRY_SUFFIX = ".model";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final long STALE_TEMP_FILE_AGE = TimeUnit.HOURS.toMillis(1);
+
+    private final Path directory;
+    private final long maxSize;
+    private final String compilerVersion;
+    private final AtomicLong writtenSinceEviction = new AtomicLong();
+
+    public PersistentPrecompileCache(File directory, long maxSize) {
+        this(directory, maxSize, getCompilerVersion());
+    }
+
+    PersistentPrecompileCache(File directory, long maxSize, String compilerVersion) {
+        Validate.notNull(directory, "Cache directory can not be null");
+        Validate.isTrue(maxSize > 0, "Cache size limit must be positive");
+        this.directory = directory.toPath();
+        this.maxSize = maxSize;
+        this.compilerVersion = compilerVersion;
+        evict();
+    }
+
+    /**
+     * @param source the source to get the pre-compiled model for
+     * @return the stored model of the source, or null if it is not stored
+     */
+    public ExecutableModellingResult get(SlangSource source) {
+        Path entry = getEntryPath(source);
+        if (!Files.isRegularFile(entry)) {
+            return null;
+        }
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(entry));
+             ObjectInputStream objectInputStream = new ObjectInputStream(inputStream)) {
+            ExecutableModellingResult result = (ExecutableModellingResult) objectInputStream.readObject();
+            touch(entry);
+            return result;
+        } catch (NoSuchFileException ex) {
+            // evicted meanwhile
+            return null;
+        } catch (IOException | ClassNotFoundException | ClassCastException ex) {
+            logger.debug("Dropping unreadable pre-compile cache entry: " + entry, ex);
+            deleteQuietly(entry);
+            return null;
+        }
+    }
+
+    /**
+     * @param source the source that was pre-compiled
+     * @param result the pre-compiled model, not stored if it can not be serialized
+     */
+    public void put(SlangSource source, ExecutableModellingResult result) {
+        byte[] bytes = serialize(result);
+        if (bytes == null) {
+            return;
+        }
+        Path entry = getEntryPath(source);
+        Path tempFile = null;
+        try {
+            Files.createDirectories(directory);
+            tempFile = Files.createTempFile(directory, entry.getFileName().toString(), TEMP_SUFFIX);
+            Files.write(tempFile, bytes);
+            moveInPlace(tempFile, entry);
+        } catch (IOException ex) {
+            logger.debug("Failed to store pre-compile cache entry: " + entry, ex);
+        } finally {
+            if (tempFile != null) {
+                deleteQuietly(tempFile);
+            }
+        }
+        if (writtenSinceEviction.addAndGet(bytes.length) > maxSize / 10) {
+            writtenSinceEviction.set(0);
+            evict();
+        }
+    }
+
+    /**
+     * Deletes the least recently used entries until the entries take less than 90% of the size limit,
+     * and the temporary files left by processes that did not finish writing.
+     */
+    synchronized void evict() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<Path> entries = new ArrayList<>();
+        final Map<Path, Long> lastModifiedTimes = new HashMap<>();
+        long size = 0;
+        long now = System.currentTimeMillis();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path path : stream) {
+                String fileName = path.getFileName().toString();
+                try {
+                    if (fileName.endsWith(ENTRY_SUFFIX)) {
+                        lastModifiedTimes.put(path, Files.getLastModifiedTime(path).toMillis());
+                        size += Files.size(path);
+                        entries.add(path);
+                    } else if (fileName.endsWith(TEMP_SUFFIX) &&
+                            now - Files.getLastModifiedTime(path).toMillis() > STALE_TEMP_FILE_AGE) {
+                        deleteQuietly(path);
+                    }
+                } catch (IOException ex) {
+                    // deleted meanwhile by another process
+                }
+            }
+        } catch (IOException ex) {
+            logger.debug("Failed to list the pre-compile cache directory: " + directory, ex);
+            return;
+        }
+        if (size <= maxSize) {
+            return;
+        }
+        Collections.sort(entries, new Comparator<Path>() {
+            @Override
+            public int compare(Path path1, Path path2) {
+                return Long.compare(lastModifiedTimes.get(path1), lastModifiedTimes.get(path2));
+            }
+        });
+        long targetSize = maxSize / 10 * 9;
+        for (Path entry : entries) {
+            if (size <= targetSize) {
+                break;
+            }
+            try {
+                long entrySize = Files.size(entry);
+                Files.deleteIfExists(entry);
+                size -= entrySize;
+            } catch (IOException ex) {
+                // deleted meanwhile by another process
+            }
+        }
+    }
+
+    private Path getEntryPath(SlangSource source) {
+        String key = DigestUtils.sha256Hex(compilerVersion + '\n' + source.getName() + '\n' +
+                source.getFileExtension() + '\n' + source.getContent());
+        return directory.resolve(key + ENTRY_SUFFIX);
+    }
+
+    private byte[] serialize(ExecutableModellingResult result) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(bytes)) {
+            objectOutputStream.writeObject(result);
+        } catch (IOException ex) {
+            // e.g. an error that carries parser state
+            logger.debug("Pre-compiled model can not be stored: " + ex.getMessage());
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    private void moveInPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void touch(Path entry) {
+        try {
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException ex) {
+            // evicted meanwhile
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            // nothing to clean up
+        }
+    }
+
+    /**
+     * @return an identifier of the compiler build: the version, size and modification time of its jar
+     */
+    public static String getCompilerVersion() {
+        StringBuilder version = new StringBuilder(FORMAT_VERSION);
+        Package compilerPackage = PersistentPrecompileCache.class.getPackage();
+        if (compilerPackage != null && compilerPackage.getImplementationVersion() != null) {
+            version.append(':').append(compilerPackage.getImplementationVersion());
+        }
+        CodeSource codeSource = PersistentPrecompileCache.class.getProtectionDomain().getCodeSource();
+        URL location = codeSource == null ? null : codeSource.getLocation();
+        if (location != null) {
+            version.append(':').append(location);
+            try {
+                File compilerLocation = new File(location.toURI());
+                version.append(':').append(compilerLocation.length())
+                        .append(':').append(compilerLocation.lastModified());
+            } catch (URISyntaxException | IllegalArgumentException ex) {
+                // not a file - the location alone identifies the build
+            }
+        }
+        return version.toString();
+    }
+}
@@ -35,6 +35,7 @@ import io.cloudslang.lang.compiler.modeller.transformers.DoTransformer;
 import io.cloudslang.lang.compiler.modeller.transformers.ForTransformer;
 import io.cloudslang.lang.compiler.modeller.transformers.InputsTransformer;
 import io.cloudslang.lang.compiler.modeller.transformers.JavaActionTransformer;
+import io.cloudslang.lang.compiler.modeller.transformers.MaxParallelismTransformer;
 import io.cloudslang.lang.compiler.modeller.transformers.NavigateTransformer;
 import io.cloudslang.lang.compiler.modeller.transformers.OutputsTransformer;
 import io.cloudslang.lang.compiler.modeller.transformers.ParallelLoopForTransformer;
@@ -285,6 +286,11 @@ public class SlangCompilerSpringConfig {
         return new SeqStepsTransformer();
     }
 
+    @Bean
+    public MaxParallelismTransformer maxParallelismTransformer() {
+        return new MaxParallelismTransformer();
+    }
+
     @Bean
     public BreakTransformer breakTransformer() {
         BreakTransformer breakTransformer = new BreakTransformer();
@@ -401,6 +407,7 @@ public class SlangCompilerSpringConfig {
         return Lists.newArrayList(
                 pythonActionTransformer(),
                 parallelLoopForTransformer(),
+                maxParallelismTransformer(),
                 publishTransformer(),
                 externalPublishTransformer(),
                 navigateTransformer(),
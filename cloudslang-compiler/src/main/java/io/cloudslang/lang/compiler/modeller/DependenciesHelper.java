@@ -13,7 +13,6 @@ package io.cloudslang.lang.compiler.modeller;
  * Created by orius123 on 05/11/14.
  */
 
-import ch.lambdaj.Lambda;
 import io.cloudslang.lang.compiler.SlangTextualKeys;
 import io.cloudslang.lang.compiler.modeller.model.Executable;
 import io.cloudslang.lang.compiler.modeller.model.Flow;
@@ -27,6 +26,7 @@ import io.cloudslang.lang.entities.bindings.Output;
 import io.cloudslang.lang.entities.bindings.Result;
 import io.cloudslang.lang.entities.constants.Messages;
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Deque;
@@ -39,45 +39,99 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.NotImplementedException;
 import org.apache.commons.lang3.Validate;
 
-import static ch.lambdaj.Lambda.having;
-import static ch.lambdaj.Lambda.on;
-import static ch.lambdaj.Lambda.selectFirst;
-import static org.hamcrest.Matchers.equalTo;
-
 public class DependenciesHelper {
 
     private PublishTransformer publishTransformer;
 
+    /**
+     * the index of the last executables references were matched from
+     */
+    private volatile ExecutablesIndex executablesIndex;
+
     public Set<String> fetchDependencies(Executable executable, Map<String, Executable> availableDependencies) {
         Validate.notNull(executable);
         Validate.notNull(availableDependencies);
 
+        Set<String> dependencies = new HashSet<>();
+        collectDependencies(executable, availableDependencies, dependencies);
+        return dependencies;
+    }
+
+    /**
+     * The inverse of {@link #fetchDependencies}: indexes the references of all the flows once
+     * and walks them backwards from the given executables.
+     *
+     * @param executableIds the ids of the executables to start from
+     * @param availableExecutables the executables to look in, by id
+     * @return the given ids and the ids of the executables that reference them, directly or through sub-flows
+     */
+    public Set<String> fetchDependents(Set<String> executableIds, Map<String, Executable> availableExecutables) {
+        Validate.notNull(executableIds);
+        Validate.notNull(availableExecutables);
+
+        Map<String, Set<String>> dependentsById = new HashMap<>();
+        for (Map.Entry<String, Executable> entry : availableExecutables.entrySet()) {
+            Executable executable = entry.getValue();
+            if (SlangTextualKeys.FLOW_TYPE.equals(executable.getType())) {
+                for (Step step : ((Flow) executable).getWorkflow().getSteps()) {
+                    Set<String> dependents = dependentsById.get(step.getRefId());
+                    if (dependents == null) {
+                        dependents = new HashSet<>();
+                        dependentsById.put(step.getRefId(), dependents);
+                    }
+                    dependents.add(entry.getKey());
+                }
+            }
+        }
+
+        Set<String> result = new HashSet<>(executableIds);
+        Deque<String> toVisit = new ArrayDeque<>(executableIds);
+        while (!toVisit.isEmpty()) {
+            Set<String> dependents = dependentsById.get(toVisit.pop());
+            if (dependents != null) {
+                for (String dependent : dependents) {
+                    if (result.add(dependent)) {
+                        toVisit.push(dependent);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private void collectDependencies(Executable executable, Map<String, Executable> availableDependencies,
+                                     Set<String> dependencies) {
         switch (executable.getType()) {
             case SlangTextualKeys.OPERATION_TYPE:
-                return new HashSet<>();
+                return;
             case SlangTextualKeys.DECISION_TYPE:
-                return new HashSet<>();
+                return;
             case SlangTextualKeys.FLOW_TYPE:
-                return processFlowForDependencies((Flow) executable, availableDependencies);
+                processFlowForDependencies((Flow) executable, availableDependencies, dependencies);
+                return;
             default:
                 throw new NotImplementedException(Messages.UNKNOWN_EXECUTABLE_TYPE);
         }
     }
 
-    private Set<String> processFlowForDependencies(Flow flow, Map<String, Executable> availableDependencies) {
-        Set<String> flowDependencies = new HashSet<>();
+    private void processFlowForDependencies(Flow flow, Map<String, Executable> availableDependencies,
+                                            Set<String> dependencies) {
         for (Step step : flow.getWorkflow().getSteps()) {
             String stepReferenceId = step.getRefId();
-            Executable stepReference = availableDependencies.get(stepReferenceId);
-
-            flowDependencies.add(stepReferenceId);
-            flowDependencies.addAll(fetchDependencies(stepReference, availableDependencies));
+            //a reference that was already collected is not visited again, which also ends cycles of flows
+            if (dependencies.add(stepReferenceId)) {
+                Executable stepReference = availableDependencies.get(stepReferenceId);
+                Validate.notNull(stepReference);
+                collectDependencies(stepReference, availableDependencies, dependencies);
+            }
         }
-        return flowDependencies;
     }
 
     /**
      * recursive matches executables with their references
+     * <p>
+     * The executables are indexed by id once and the references of every flow are resolved once,
+     * as long as the same executables are given, e.g. for all the sources of a folder compilation.
      *
      * @param executable the executables
      * @param availableDependencies the executables to match from
@@ -87,33 +141,16 @@ public class DependenciesHelper {
                                                    Collection<Executable> availableDependencies) {
         Validate.isTrue(executable.getType().equals(SlangTextualKeys.FLOW_TYPE),
                 "Executable: \'" + executable.getId() + "\' is not a flow, therefore it has no references");
-        Map<String, Executable> resolvedDependencies = new HashMap<>();
-        return fetchFlowReferences(executable, availableDependencies, resolvedDependencies);
+        return getExecutablesIndex(availableDependencies).getDependencies(executable);
     }
 
-    private Map<String, Executable> fetchFlowReferences(Executable executable,
-                                                        Collection<Executable> availableDependencies,
-                                                        Map<String, Executable> resolvedDependencies) {
-        for (String refId : executable.getExecutableDependencies()) {
-            //if it is already in the references we do nothing
-            if (resolvedDependencies.get(refId) == null) {
-                Executable matchingRef = selectFirst(availableDependencies,
-                        having(on(Executable.class).getId(), equalTo(refId)));
-                if (matchingRef == null) {
-                    throw new RuntimeException("Reference: \'" + refId + "\' in executable: \'" +
-                            executable.getName() + "\', wasn't found in path");
-                }
-
-                //first we put the reference on the map
-                resolvedDependencies.put(matchingRef.getId(), matchingRef);
-                if (matchingRef.getType().equals(SlangTextualKeys.FLOW_TYPE)) {
-                    //if it is a flow  we recursively
-                    resolvedDependencies
-                            .putAll(fetchFlowReferences(matchingRef, availableDependencies, resolvedDependencies));
-                }
-            }
+    private ExecutablesIndex getExecutablesIndex(Collection<Executable> availableDependencies) {
+        ExecutablesIndex index = executablesIndex;
+        if (index == null || !index.isIndexOf(availableDependencies)) {
+            index = new ExecutablesIndex(availableDependencies);
+            executablesIndex = index;
         }
-        return resolvedDependencies;
+        return index;
     }
 
     public Set<String> getSystemPropertiesForFlow(
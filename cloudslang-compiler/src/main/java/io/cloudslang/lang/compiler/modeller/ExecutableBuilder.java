@@ -58,6 +58,7 @@ import static ch.lambdaj.Lambda.on;
 import static io.cloudslang.lang.compiler.SlangTextualKeys.DO_EXTERNAL_KEY;
 import static io.cloudslang.lang.compiler.SlangTextualKeys.DO_KEY;
 import static io.cloudslang.lang.compiler.SlangTextualKeys.FOR_KEY;
+import static io.cloudslang.lang.compiler.SlangTextualKeys.MAX_PARALLELISM_KEY;
 import static io.cloudslang.lang.compiler.SlangTextualKeys.NAVIGATION_KEY;
 import static io.cloudslang.lang.compiler.SlangTextualKeys.ON_FAILURE_KEY;
 import static io.cloudslang.lang.compiler.SlangTextualKeys.PARALLEL_LOOP_KEY;
@@ -107,7 +108,7 @@ public class ExecutableBuilder {
     private List<Transformer> externalPostStepTransformers;
 
     private List<String> stepAdditionalKeyWords = asList(LOOP_KEY, DO_KEY, DO_EXTERNAL_KEY, NAVIGATION_KEY);
-    private List<String> parallelLoopValidKeywords = asList(DO_KEY, DO_EXTERNAL_KEY, FOR_KEY);
+    private List<String> parallelLoopValidKeywords = asList(DO_KEY, DO_EXTERNAL_KEY, FOR_KEY, MAX_PARALLELISM_KEY);
 
     private List<String> seqSupportedResults = asList(SUCCESS_RESULT, WARNING_RESULT, FAILURE_RESULT);
 
@@ -475,6 +476,11 @@ public class ExecutableBuilder {
                         Map<String, Object> loopRawData = (Map<String, Object>) stepRawDataValue.remove(LOOP_KEY);
                         stepRawDataValue.putAll(loopRawData);
                     }
+                    if (!parallelLoopKeyFound && stepRawDataValue.containsKey(MAX_PARALLELISM_KEY)) {
+                        errors.add(new RuntimeException("Step: " + stepName +
+                                " syntax is illegal.\nThe \'" + MAX_PARALLELISM_KEY +
+                                "\' key can only be used below the \'" + PARALLEL_LOOP_KEY + "\' keyword."));
+                    }
                     if (parallelLoopKeyFound) {
                         message = "Step: " + stepName +
                                 " syntax is illegal.\nBelow the 'parallel_loop' keyword, there " +
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.modeller;
+
+import io.cloudslang.lang.compiler.SlangTextualKeys;
+import io.cloudslang.lang.compiler.modeller.model.Executable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the executables available to a compilation by their fully qualified name,
+ * with the references of every flow resolved to its transitive dependencies at most once.
+ * <p>
+ * Flows may reference each other in cycles, so the dependencies are resolved per strongly connected group
+ * of flows: all the flows of a cycle share the same dependencies, which include the flows themselves.
+ * The index is thread safe.
+ */
+class ExecutablesIndex {
+
+    private final Set<Executable> executables;
+    private final Map<String, Executable> executablesById;
+    private final Map<String, Map<String, Executable>> dependenciesById = new ConcurrentHashMap<>();
+
+    ExecutablesIndex(Collection<Executable> executables) {
+        this.executables = Collections.newSetFromMap(new IdentityHashMap<Executable, Boolean>());
+        this.executablesById = new HashMap<>();
+        for (Executable executable : executables) {
+            this.executables.add(executable);
+            // the first executable with an id is used, duplicates are reported by the compile validator
+            if (!executablesById.containsKey(executable.getId())) {
+                executablesById.put(executable.getId(), executable);
+            }
+        }
+    }
+
+    /**
+     * @param executables the executables to compare to
+     * @return true if this is the index of the same executable instances
+     */
+    boolean isIndexOf(Collection<Executable> executables) {
+        Set<Executable> otherExecutables = Collections.newSetFromMap(new IdentityHashMap<Executable, Boolean>());
+        for (Executable executable : executables) {
+            if (!this.executables.contains(executable)) {
+                return false;
+            }
+            otherExecutables.add(executable);
+        }
+        return otherExecutables.size() == this.executables.size();
+    }
+
+    /**
+     * @param flow the flow to resolve
+     * @return the executables the flow references directly or through its sub-flows, by id
+     */
+    Map<String, Executable> getDependencies(Executable flow) {
+        Map<String, Executable> dependencies = dependenciesById.get(flow.getId());
+        if (dependencies == null) {
+            dependencies = new DependenciesResolution().resolve(flow);
+        }
+        return new HashMap<>(dependencies);
+    }
+
+    /**
+     * Depth first traversal of the references, which finds the strongly connected flows (Tarjan)
+     * to store the dependencies of every flow it completes.
+     */
+    private class DependenciesResolution {
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final Map<String, Integer> lowLinks = new HashMap<>();
+        private final Map<String, Map<String, Executable>> partialDependencies = new HashMap<>();
+        private final Deque<Executable> stack = new ArrayDeque<>();
+        private final Set<String> onStack = new HashSet<>();
+
+        Map<String, Executable> resolve(Executable flow) {
+            String flowId = flow.getId();
+            int index = indexes.size();
+            indexes.put(flowId, index);
+            lowLinks.put(flowId, index);
+            stack.push(flow);
+            onStack.add(flowId);
+
+            Map<String, Executable> dependencies = new LinkedHashMap<>();
+            for (String refId : flow.getExecutableDependencies()) {
+                Executable reference = executablesById.get(refId);
+                if (reference == null) {
+                    throw new RuntimeException("Reference: \'" + refId + "\' in executable: \'" +
+                            flow.getName() + "\', wasn't found in path");
+                }
+                dependencies.put(refId, reference);
+                if (SlangTextualKeys.FLOW_TYPE.equals(reference.getType())) {
+                    Map<String, Executable> resolved = dependenciesById.get(refId);
+                    if (resolved != null) {
+                        dependencies.putAll(resolved);
+                    } else if (!indexes.containsKey(refId)) {
+                        dependencies.putAll(resolve(reference));
+                        lowLinks.put(flowId, Math.min(lowLinks.get(flowId), lowLinks.get(refId)));
+                    } else if (onStack.contains(refId)) {
+                        // a cycle, the dependencies are completed when its first flow is done
+                        lowLinks.put(flowId, Math.min(lowLinks.get(flowId), indexes.get(refId)));
+                    }
+                }
+            }
+            partialDependencies.put(flowId, dependencies);
+
+            if (lowLinks.get(flowId).equals(indexes.get(flowId))) {
+                List<String> groupIds = new ArrayList<>();
+                Executable member;
+                do {
+                    member = stack.pop();
+                    onStack.remove(member.getId());
+                    groupIds.add(member.getId());
+                } while (member != flow);
+
+                Map<String, Executable> groupDependencies = dependencies;
+                if (groupIds.size() > 1) {
+                    groupDependencies = new LinkedHashMap<>();
+                    for (String groupId : groupIds) {
+                        groupDependencies.putAll(partialDependencies.get(groupId));
+                    }
+                }
+                groupDependencies = Collections.unmodifiableMap(groupDependencies);
+                for (String groupId : groupIds) {
+                    dependenciesById.put(groupId, groupDependencies);
+                }
+                return groupDependencies;
+            }
+            return dependencies;
+        }
+    }
+}
@@ -25,6 +25,8 @@ import java.util.Set;
  */
 public class Flow extends Executable {
 
+    private static final long serialVersionUID = 6333250739193088695L;
+
     private final Workflow workflow;
 
     public Flow(Map<String, Serializable> preOpActionData,
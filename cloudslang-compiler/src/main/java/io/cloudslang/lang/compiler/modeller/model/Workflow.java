@@ -9,13 +9,15 @@
  *******************************************************************************/
 package io.cloudslang.lang.compiler.modeller.model;
 
-
+import java.io.Serializable;
 import java.util.Deque;
 
 /*
  * Created by orius123 on 06/11/14.
  */
-public class Workflow {
+public class Workflow implements Serializable {
+
+    private static final long serialVersionUID = 439872123984308629L;
 
     private final Deque<Step> steps;
 
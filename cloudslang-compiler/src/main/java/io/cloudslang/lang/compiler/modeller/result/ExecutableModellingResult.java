@@ -10,12 +10,15 @@
 package io.cloudslang.lang.compiler.modeller.result;
 
 import io.cloudslang.lang.compiler.modeller.model.Executable;
+import java.io.Serializable;
 import java.util.List;
 
 /**
  * Created by Ifat Gavish on 24/02/2016
  */
-public class ExecutableModellingResult implements ModellingResult {
+public class ExecutableModellingResult implements ModellingResult, Serializable {
+
+    private static final long serialVersionUID = 6250562734639259767L;
 
     private final Executable executable;
     private final List<RuntimeException> errors;
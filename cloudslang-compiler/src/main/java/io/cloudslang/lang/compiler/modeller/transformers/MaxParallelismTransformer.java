@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.modeller.transformers;
+
+import io.cloudslang.lang.compiler.CompilerConstants;
+import io.cloudslang.lang.compiler.SlangTextualKeys;
+import io.cloudslang.lang.compiler.modeller.result.BasicTransformModellingResult;
+import io.cloudslang.lang.compiler.modeller.result.TransformModellingResult;
+import io.cloudslang.lang.entities.SensitivityLevel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Transforms the max_parallelism keyword of a parallel loop - the number of branches
+ * that may run at the same time.
+ */
+public class MaxParallelismTransformer implements Transformer<Object, Integer> {
+
+    @Override
+    public TransformModellingResult<Integer> transform(Object rawData) {
+        return transform(rawData, CompilerConstants.DEFAULT_SENSITIVITY_LEVEL);
+    }
+
+    @Override
+    public TransformModellingResult<Integer> transform(Object rawData, SensitivityLevel sensitivityLevel) {
+        List<RuntimeException> errors = new ArrayList<>();
+        Integer maxParallelism = null;
+        if (rawData != null) {
+            try {
+                maxParallelism = Integer.valueOf(rawData.toString().trim());
+            } catch (NumberFormatException ignore) {
+                maxParallelism = null;
+            }
+            if (maxParallelism == null || maxParallelism < 1) {
+                errors.add(new RuntimeException("'" + SlangTextualKeys.MAX_PARALLELISM_KEY +
+                        "' should be a positive integer but got: " + rawData));
+                maxParallelism = null;
+            }
+        }
+        return new BasicTransformModellingResult<>(maxParallelism, errors);
+    }
+
+    @Override
+    public List<Scope> getScopes() {
+        return Collections.singletonList(Scope.BEFORE_STEP);
+    }
+
+    @Override
+    public String keyToTransform() {
+        return SlangTextualKeys.MAX_PARALLELISM_KEY;
+    }
+}
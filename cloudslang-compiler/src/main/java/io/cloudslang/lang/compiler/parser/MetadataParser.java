@@ -30,24 +30,36 @@ public class MetadataParser {
 
     public ParsedDescriptionData parse(SlangSource source) {
         Validate.notNull(source.getContent(), "Source " + source.getName() + " cannot be null");
+        return parse(source, SlangSourceUtils.readLines(source));
+    }
+
+    /**
+     * @param source the source to parse the description of
+     * @param lines the lines of the source, when they were already read
+     * @return the description data of the source
+     */
+    public ParsedDescriptionData parse(SlangSource source, List<String> lines) {
         try {
-            return extractDescriptionData(source);
+            return processRawLines(lines);
         } catch (Throwable e) {
             throw new RuntimeException("There was a problem parsing the description: " +
                     source.getName() + "." + System.lineSeparator() + parserExceptionHandler.getErrorMessage(e), e);
         }
     }
 
-    private ParsedDescriptionData extractDescriptionData(SlangSource source) {
-        List<String> lines = SlangSourceUtils.readLines(source);
-        return processRawLines(lines);
-    }
-
     private ParsedDescriptionData processRawLines(List<String> lines) {
         DescriptionBuilder descriptionBuilder = new DescriptionBuilder();
         for (int lineNrZeroBased = 0; lineNrZeroBased < lines.size(); lineNrZeroBased++) {
             String currentLine = lines.get(lineNrZeroBased);
 
+            // only comment lines can be description lines, code lines are not matched against the patterns
+            if (!descriptionPatternMatcher.startsWithComment(currentLine)) {
+                if (descriptionBuilder.descriptionOpened()) {
+                    handleNonDescriptionLineInsideDescription(descriptionBuilder, currentLine, lineNrZeroBased);
+                }
+                continue;
+            }
+
             // block start -  #!!
             if (descriptionPatternMatcher.matchesDescriptionStart(currentLine)) {
                 handleBlockStart(descriptionBuilder, lineNrZeroBased);
@@ -27,6 +27,20 @@ public abstract class YamlParser {
 
     private ExecutableValidator executableValidator;
 
+    /**
+     * a {@link Yaml} is not thread safe, and creating one configures its representer and constructor anew,
+     * so every thread parses with an instance of its own
+     */
+    private final ThreadLocal<Yaml> threadYaml = new ThreadLocal<Yaml>() {
+        @Override
+        protected Yaml initialValue() {
+            return getYaml();
+        }
+    };
+
+    /**
+     * @return a new {@link Yaml} for parsing sources, called once per parsing thread
+     */
     protected abstract Yaml getYaml();
 
     public ParsedSlang validateAndThrowFirstError(ParsedSlang parsedSlang) {
@@ -58,7 +72,7 @@ public abstract class YamlParser {
         Validate.notEmpty(source.getContent(), "Source " + source.getName() + " cannot be empty");
 
         try {
-            ParsedSlang parsedSlang = getYaml().loadAs(source.getContent(), ParsedSlang.class);
+            ParsedSlang parsedSlang = threadYaml.get().loadAs(source.getContent(), ParsedSlang.class);
             if (parsedSlang == null) {
                 throw new RuntimeException("Source " + source.getName() + " does not contain YAML content");
             }
@@ -67,6 +81,8 @@ public abstract class YamlParser {
 
             return parsedSlang;
         } catch (Throwable e) {
+            // the constructor may keep state of the failed document, so the next source gets a new instance
+            threadYaml.remove();
             throw new RuntimeException("There was a problem parsing the YAML source: " +
                     source.getName() + ".\n" + parserExceptionHandler.getErrorMessage(e), e);
         }
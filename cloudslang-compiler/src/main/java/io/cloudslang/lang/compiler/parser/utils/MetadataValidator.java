@@ -10,8 +10,18 @@
 package io.cloudslang.lang.compiler.parser.utils;
 
 import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.compiler.parser.model.ParsedDescriptionData;
 import java.util.List;
 
 public interface MetadataValidator {
     List<RuntimeException> validateCheckstyle(SlangSource source);
+
+    /**
+     * @param source the source to validate
+     * @param lines the lines of the source, when they were already read
+     * @param parsedDescriptionData the description data, when it was already parsed from the lines
+     * @return the checkstyle errors of the source
+     */
+    List<RuntimeException> validateCheckstyle(SlangSource source, List<String> lines,
+                                              ParsedDescriptionData parsedDescriptionData);
 }
@@ -35,8 +35,15 @@ public class MetadataValidatorImpl implements MetadataValidator {
     @Override
     public List<RuntimeException> validateCheckstyle(SlangSource source) {
         Validate.notNull(source.getContent(), "Source " + source.getName() + " cannot be null");
+        List<String> lines = SlangSourceUtils.readLines(source);
+        return validateCheckstyle(source, lines, metadataParser.parse(source, lines));
+    }
+
+    @Override
+    public List<RuntimeException> validateCheckstyle(SlangSource source, List<String> lines,
+                                                     ParsedDescriptionData parsedDescriptionData) {
         try {
-            return extractCheckstyleData(source);
+            return extractCheckstyleData(lines, parsedDescriptionData);
         } catch (Throwable e) {
             throw new RuntimeException(
                     "There was a problem extracting checkstyle data for source [" +
@@ -45,9 +52,8 @@ public class MetadataValidatorImpl implements MetadataValidator {
         }
     }
 
-    private List<RuntimeException> extractCheckstyleData(SlangSource source) {
-        List<String> lines = SlangSourceUtils.readLines(source);
-        ParsedDescriptionData parsedDescriptionData = metadataParser.parse(source);
+    private List<RuntimeException> extractCheckstyleData(List<String> lines,
+                                                         ParsedDescriptionData parsedDescriptionData) {
         List<RuntimeException> errors = new ArrayList<>();
 
         // process flow descriptions
@@ -10,6 +10,9 @@
 package io.cloudslang.lang.compiler.scorecompiler;
 
 import ch.lambdaj.function.convert.Converter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import io.cloudslang.lang.compiler.SlangTextualKeys;
 import io.cloudslang.lang.compiler.modeller.DependenciesHelper;
 import io.cloudslang.lang.compiler.modeller.model.Decision;
@@ -17,12 +20,14 @@ import io.cloudslang.lang.compiler.modeller.model.Executable;
 import io.cloudslang.lang.compiler.modeller.model.Flow;
 import io.cloudslang.lang.compiler.modeller.model.Operation;
 import io.cloudslang.lang.compiler.modeller.model.Step;
+import io.cloudslang.lang.compiler.modeller.model.Workflow;
 import io.cloudslang.lang.compiler.modeller.result.CompilationModellingResult;
 import io.cloudslang.lang.compiler.validator.CompileValidator;
 import io.cloudslang.lang.entities.CompilationArtifact;
 import io.cloudslang.lang.entities.ScoreLangConstants;
 import io.cloudslang.lang.entities.bindings.Result;
 import io.cloudslang.score.api.ExecutionPlan;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Deque;
@@ -31,6 +36,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang.Validate;
 
@@ -45,6 +52,17 @@ public class ScoreCompilerImpl implements ScoreCompiler {
 
     private CompileValidator compileValidator;
 
+    /**
+     * execution plans of dependencies, shared by the artifacts of all compilations.
+     * Keyed by the model instance (weak keys compare by identity), since the pre-compile cache returns
+     * the same model for an unchanged source and a new one for a changed source. The models are never
+     * changed by the compilation, so a plan only depends on the model and on the dependency of its on_failure step.
+     */
+    private final Cache<Executable, DependencyExecutionPlan> dependencyExecutionPlans = CacheBuilder.newBuilder()
+            .weakKeys()
+            .concurrencyLevel(2 * Runtime.getRuntime().availableProcessors())
+            .build();
+
     @Override
     public CompilationArtifact compile(Executable source, Set<Executable> path) {
         CompilationModellingResult compilationModellingResult = compileSource(source, path);
@@ -79,8 +97,6 @@ public class ScoreCompilerImpl implements ScoreCompiler {
                 //than we match the references to the actual dependencies
                 filteredDependencies = dependenciesHelper.matchReferences(executable, availableExecutables);
 
-                handleOnFailureCustomResults(executable, filteredDependencies);
-
                 List<RuntimeException> errors =
                         compileValidator.validateModelWithDependencies(executable, filteredDependencies);
                 exceptions.addAll(errors);
@@ -92,13 +108,14 @@ public class ScoreCompilerImpl implements ScoreCompiler {
 
         try {
             //next we create an execution plan for the required executable
-            ExecutionPlan executionPlan = compileToExecutionPlan(executable);
+            ExecutionPlan executionPlan = compileToExecutionPlan(executable, filteredDependencies);
 
-            //and also create execution plans for all other dependencies
+            //and also get execution plans for all other dependencies
+            final Map<String, Executable> dependencyExecutables = filteredDependencies;
             Converter<Executable, ExecutionPlan> converter = new Converter<Executable, ExecutionPlan>() {
                 @Override
                 public ExecutionPlan convert(Executable compiledExecutable) {
-                    return compileToExecutionPlan(compiledExecutable);
+                    return getDependencyExecutionPlan(compiledExecutable, dependencyExecutables);
                 }
             };
             Map<String, ExecutionPlan> dependencies = convertMap(filteredDependencies, converter);
@@ -117,25 +134,50 @@ public class ScoreCompilerImpl implements ScoreCompiler {
         return new CompilationModellingResult(null, exceptions);
     }
 
-    private void handleOnFailureCustomResults(Executable executable, Map<String, Executable> filteredDependencies) {
-        handleOnFailureStepCustomResults((Flow) executable, filteredDependencies);
-        for (Executable dependency : filteredDependencies.values()) {
-            if (dependency.getType().equals(SlangTextualKeys.FLOW_TYPE)) {
-                handleOnFailureStepCustomResults((Flow) dependency, filteredDependencies);
+    /**
+     * The on_failure step navigates every result of its dependency to FAILURE. The navigations are added to
+     * a copy of the flow, since the model may be shared by concurrent compilations through the pre-compile cache.
+     *
+     * @param flow                 the flow to compile
+     * @param filteredDependencies the dependencies of the compilation
+     * @return the flow to build the execution plan from
+     */
+    private Flow addOnFailureNavigations(Flow flow, Map<String, Executable> filteredDependencies) {
+        Step onFailureStep = getOnFailureStep(flow);
+        Executable onFailureDependency = getOnFailureDependency(flow, filteredDependencies);
+        if (onFailureDependency == null) {
+            return flow;
+        }
+        List<Map<String, String>> navigationStrings = new ArrayList<>(onFailureStep.getNavigationStrings());
+        for (Result result : onFailureDependency.getResults()) {
+            Map<String, String> navigationString = new HashMap<>();
+            navigationString.put(result.getName(), ScoreLangConstants.FAILURE_RESULT);
+            if (!navigationStrings.contains(navigationString)) {
+                navigationStrings.add(navigationString);
             }
         }
+        if (navigationStrings.size() == onFailureStep.getNavigationStrings().size()) {
+            return flow;
+        }
+
+        Deque<Step> steps = new ArrayDeque<>();
+        for (Step step : flow.getWorkflow().getSteps()) {
+            steps.add(step != onFailureStep ? step : new Step(step.getName(), step.getPreStepActionData(),
+                    step.getPostStepActionData(), step.getArguments(), navigationStrings, step.getRefId(),
+                    step.isParallelLoop(), step.isOnFailureStep()));
+        }
+        return new Flow(flow.getPreExecActionData(), flow.getPostExecActionData(), new Workflow(steps),
+                flow.getNamespace(), flow.getName(), flow.getInputs(), flow.getOutputs(), flow.getResults(),
+                flow.getExecutableDependencies(), flow.getExternalExecutableDependencies(),
+                flow.getSystemPropertyDependencies());
     }
 
-    private void handleOnFailureStepCustomResults(Flow executable, Map<String, Executable> filteredDependencies) {
-        Step onFailureStep = getOnFailureStep(executable);
-        if (onFailureStep != null) {
-            Executable onFailureDependency = filteredDependencies.get(onFailureStep.getRefId());
-            for (Result result : onFailureDependency.getResults()) {
-                Map<String, String> navigationString = new HashMap<>();
-                navigationString.put(result.getName(), ScoreLangConstants.FAILURE_RESULT);
-                onFailureStep.getNavigationStrings().add(navigationString);
-            }
+    private Executable getOnFailureDependency(Executable executable, Map<String, Executable> filteredDependencies) {
+        if (!executable.getType().equals(SlangTextualKeys.FLOW_TYPE)) {
+            return null;
         }
+        Step onFailureStep = getOnFailureStep((Flow) executable);
+        return onFailureStep == null ? null : filteredDependencies.get(onFailureStep.getRefId());
     }
 
     private Step getOnFailureStep(Flow flow) {
@@ -158,21 +200,55 @@ public class ScoreCompilerImpl implements ScoreCompiler {
         return compileValidator.validateModelWithDirectDependencies(slangModel, dependenciesMap);
     }
 
+    /**
+     * The execution plan of a dependency is not changed by the compilation, so it is built once per model
+     * and dependency of its on_failure step
+     *
+     * @param executable           the dependency to get the {@link io.cloudslang.score.api.ExecutionPlan} for
+     * @param filteredDependencies the dependencies of the compilation
+     * @return the shared {@link io.cloudslang.score.api.ExecutionPlan} of the dependency
+     */
+    private ExecutionPlan getDependencyExecutionPlan(final Executable executable,
+                                                     final Map<String, Executable> filteredDependencies) {
+        final Executable onFailureDependency = getOnFailureDependency(executable, filteredDependencies);
+        Callable<DependencyExecutionPlan> loader = new Callable<DependencyExecutionPlan>() {
+            @Override
+            public DependencyExecutionPlan call() {
+                return new DependencyExecutionPlan(compileToExecutionPlan(executable, filteredDependencies),
+                        onFailureDependency);
+            }
+        };
+        try {
+            DependencyExecutionPlan dependencyExecutionPlan = dependencyExecutionPlans.get(executable, loader);
+            if (dependencyExecutionPlan.onFailureDependency != onFailureDependency) {
+                dependencyExecutionPlan = new DependencyExecutionPlan(
+                        compileToExecutionPlan(executable, filteredDependencies), onFailureDependency);
+                dependencyExecutionPlans.put(executable, dependencyExecutionPlan);
+            }
+            return dependencyExecutionPlan.executionPlan;
+        } catch (ExecutionException | UncheckedExecutionException ex) {
+            Throwable cause = ex.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new RuntimeException(cause);
+        }
+    }
+
     /**
      * Utility method that cast a {@link io.cloudslang.lang.compiler.modeller.model.Executable} to its subtype
      * and create an {@link io.cloudslang.score.api.ExecutionPlan} for it
      *
-     * @param executable the executable to create an {@link io.cloudslang.score.api.ExecutionPlan} for
+     * @param executable           the executable to create an {@link io.cloudslang.score.api.ExecutionPlan} for
+     * @param filteredDependencies the dependencies of the compilation
      * @return {@link io.cloudslang.score.api.ExecutionPlan} of the given
      * {@link io.cloudslang.lang.compiler.modeller.model.Executable}
      */
-    private ExecutionPlan compileToExecutionPlan(Executable executable) {
+    private ExecutionPlan compileToExecutionPlan(Executable executable, Map<String, Executable> filteredDependencies) {
 
         switch (executable.getType()) {
             case SlangTextualKeys.OPERATION_TYPE:
                 return executionPlanBuilder.createOperationExecutionPlan((Operation) executable);
             case SlangTextualKeys.FLOW_TYPE:
-                return executionPlanBuilder.createFlowExecutionPlan((Flow) executable);
+                return executionPlanBuilder.createFlowExecutionPlan(
+                        addOnFailureNavigations((Flow) executable, filteredDependencies));
             case SlangTextualKeys.DECISION_TYPE:
                 return executionPlanBuilder.createDecisionExecutionPlan((Decision) executable);
             default:
@@ -189,6 +265,17 @@ public class ScoreCompilerImpl implements ScoreCompiler {
         return result;
     }
 
+    private static final class DependencyExecutionPlan {
+
+        private final ExecutionPlan executionPlan;
+        private final Executable onFailureDependency;
+
+        private DependencyExecutionPlan(ExecutionPlan executionPlan, Executable onFailureDependency) {
+            this.executionPlan = executionPlan;
+            this.onFailureDependency = onFailureDependency;
+        }
+    }
+
     public void setExecutionPlanBuilder(ExecutionPlanBuilder executionPlanBuilder) {
         this.executionPlanBuilder = executionPlanBuilder;
     }
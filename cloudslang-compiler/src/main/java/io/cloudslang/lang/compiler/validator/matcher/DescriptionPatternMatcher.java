@@ -74,6 +74,25 @@ public class DescriptionPatternMatcher {
         return commentLinePattern.matcher(input).matches();
     }
 
+    /**
+     * Cheap check to be made before the patterns: the description patterns only match lines
+     * whose first non whitespace character is '#'
+     *
+     * @param input the line
+     * @return true if the line starts with a comment
+     */
+    public boolean startsWithComment(String input) {
+        for (int index = 0; index < input.length(); index++) {
+            char character = input.charAt(index);
+            // the \s characters of the patterns
+            if (character != ' ' && character != '\t' && character != '\n' && character != '\u000B' &&
+                    character != '\f' && character != '\r') {
+                return character == '#';
+            }
+        }
+        return false;
+    }
+
     public boolean matchesStepStartLine(String input) {
         return stepStartLinePattern.matcher(input).matches();
     }
@@ -11,7 +11,11 @@ package io.cloudslang.lang.compiler;
 
 import io.cloudslang.lang.compiler.configuration.SlangCompilerSpringConfig;
 import io.cloudslang.lang.compiler.modeller.ExecutableBuilder;
+import io.cloudslang.lang.compiler.modeller.model.Executable;
+import io.cloudslang.lang.compiler.modeller.model.Flow;
+import io.cloudslang.lang.compiler.modeller.model.Step;
 import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
+import io.cloudslang.lang.compiler.scorecompiler.ScoreCompiler;
 import io.cloudslang.lang.entities.CompilationArtifact;
 import io.cloudslang.lang.entities.ResultNavigation;
 import io.cloudslang.lang.entities.ScoreLangConstants;
@@ -19,9 +23,16 @@ import io.cloudslang.score.api.ExecutionPlan;
 import io.cloudslang.score.api.ExecutionStep;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Assert;
 import org.junit.Rule;
@@ -48,6 +59,9 @@ public class CompileFlowWithOnFailureTest {
     @Autowired
     private SlangCompiler compiler;
 
+    @Autowired
+    private ScoreCompiler scoreCompiler;
+
     @Rule
     public ExpectedException expectedException = ExpectedException.none();
 
@@ -79,6 +93,39 @@ public class CompileFlowWithOnFailureTest {
         assertEquals(endFlowStep, getFailureNavigationStepId(firstOnFailStep));
     }
 
+    @Test
+    public void testConcurrentCompilationsOfSharedFlowWithOnFailure() throws Exception {
+        final Flow flow = (Flow) compiler.preCompileSource(SlangSource.fromFile(
+                getClass().getResource("/flow_with_on_failure.sl").toURI())).getExecutable();
+        Executable operation = compiler.preCompileSource(SlangSource.fromFile(
+                getClass().getResource("/test_op.sl").toURI())).getExecutable();
+        final Set<Executable> path = Collections.singleton(operation);
+        Step onFailureStep = flow.getWorkflow().getSteps().getLast();
+        List<Map<String, String>> onFailureNavigationStrings = new ArrayList<>(onFailureStep.getNavigationStrings());
+
+        List<Callable<CompilationArtifact>> compilations = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            compilations.add(new Callable<CompilationArtifact>() {
+                @Override
+                public CompilationArtifact call() {
+                    return scoreCompiler.compile(flow, path);
+                }
+            });
+        }
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            for (Future<CompilationArtifact> future : executorService.invokeAll(compilations)) {
+                ExecutionStep onFailureExecutionStep = future.get().getExecutionPlan().getStep(7L);
+                Map<String, ResultNavigation> navigationMap = getNavigationMap(onFailureExecutionStep);
+                assertEquals(0L, navigationMap.get(ScoreLangConstants.SUCCESS_RESULT).getNextStepId());
+                assertEquals(0L, navigationMap.get(ScoreLangConstants.FAILURE_RESULT).getNextStepId());
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        assertEquals(onFailureNavigationStrings, onFailureStep.getNavigationStrings());
+    }
+
     @Test
     public void testCompileMultipleOnFailure() throws Exception {
         URI operation = getClass().getResource("/test_op.sl").toURI();
@@ -257,6 +257,30 @@ public class SlangSourceTest {
         assertSourceEquals(content.getBytes(getCharset()), name);
     }
 
+    @Test
+    public void testHasSameFileStateAs() throws IOException {
+        File file = folder.newFile(name);
+        FileUtils.writeStringToFile(file, content);
+        Assert.assertTrue(file.setLastModified(System.currentTimeMillis() - 60000));
+        SlangSource source = SlangSource.fromFile(file);
+
+        Assert.assertTrue(source.hasSameFileStateAs(SlangSource.fromFile(file)));
+        Assert.assertFalse(source.hasSameFileStateAs(new SlangSource(content, name)));
+
+        FileUtils.writeStringToFile(file, "file_Content");
+        Assert.assertTrue(file.setLastModified(System.currentTimeMillis() - 30000));
+        Assert.assertFalse(source.hasSameFileStateAs(SlangSource.fromFile(file)));
+    }
+
+    @Test
+    public void testHasSameFileStateAsRecentlyModifiedFile() throws IOException {
+        File file = folder.newFile(name);
+        FileUtils.writeStringToFile(file, content);
+        Assert.assertTrue(file.setLastModified(System.currentTimeMillis()));
+
+        Assert.assertFalse(SlangSource.fromFile(file).hasSameFileStateAs(SlangSource.fromFile(file)));
+    }
+
     private Charset getCharset() {
         String cslangEncoding = System.getProperty(SlangSystemPropertyConstant.CSLANG_ENCODING.getValue());
         return StringUtils.isEmpty(cslangEncoding) ?
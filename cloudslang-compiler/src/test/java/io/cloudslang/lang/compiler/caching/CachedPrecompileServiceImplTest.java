@@ -29,8 +29,10 @@ import org.mockito.stubbing.Answer;
 import static io.cloudslang.lang.compiler.caching.CacheValueState.OUTDATED;
 import static io.cloudslang.lang.compiler.caching.CacheValueState.VALID;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyObject;
@@ -202,6 +204,20 @@ public class CachedPrecompileServiceImplTest {
 
     }
 
+    @Test
+    public void testHasChangedSinceCached() {
+        SlangSource source = new SlangSource("namespace: user.ops", "op.sl");
+
+        assertFalse(cachedPrecompileServiceImpl.hasChangedSinceCached(source,
+                new SlangSource("namespace: user.ops", "op.sl")));
+        assertTrue(cachedPrecompileServiceImpl.hasChangedSinceCached(source,
+                new SlangSource("namespace: user.flows", "op.sl")));
+        assertTrue(cachedPrecompileServiceImpl.hasChangedSinceCached(source,
+                new SlangSource("namespace: user.opz", "op.sl")));
+        assertTrue(cachedPrecompileServiceImpl.hasChangedSinceCached(source,
+                new SlangSource("namespace: user.ops", "op2.sl")));
+    }
+
     @Test
     public void testInit() throws Exception {
         CachedPrecompileServiceImpl cachedPrecompileService = new CachedPrecompileServiceImpl();
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.caching;
+
+import com.google.common.collect.Sets;
+import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.entities.CompilationArtifact;
+import io.cloudslang.lang.entities.bindings.Input;
+import io.cloudslang.score.api.ExecutionPlan;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class CompilationArtifactBundleTest {
+
+    private static final SlangSource FLOW = new SlangSource("namespace: user.flows\nflow:\n  name: flow", "flow.sl");
+    private static final SlangSource OPERATION =
+            new SlangSource("namespace: user.ops\noperation:\n  name: op", "op.sl");
+
+    @Test
+    public void testArtifactIsReadBack() throws IOException {
+        CompilationArtifact artifact = createArtifact();
+        String sourceHash = CompilationArtifactBundle.getSourceHash(FLOW, Collections.singleton(OPERATION));
+
+        CompilationArtifact readArtifact = CompilationArtifactBundle.read(
+                new ByteArrayInputStream(write(artifact, sourceHash)), sourceHash);
+
+        assertEquals(artifact, readArtifact);
+    }
+
+    @Test
+    public void testBundleOfOtherSourcesIsNotRead() throws IOException {
+        byte[] bundle = write(createArtifact(),
+                CompilationArtifactBundle.getSourceHash(FLOW, Collections.singleton(OPERATION)));
+        SlangSource changedOperation = new SlangSource(OPERATION.getContent() + "\n", "op.sl");
+
+        assertNull(CompilationArtifactBundle.read(new ByteArrayInputStream(bundle),
+                CompilationArtifactBundle.getSourceHash(FLOW, Collections.singleton(changedOperation))));
+    }
+
+    @Test
+    public void testSourceHashDoesNotDependOnDependenciesOrder() {
+        SlangSource otherOperation = new SlangSource("namespace: user.ops\noperation:\n  name: op2", "op2.sl");
+        Set<SlangSource> dependencies = Sets.newLinkedHashSet();
+        dependencies.add(OPERATION);
+        dependencies.add(otherOperation);
+        Set<SlangSource> reversedDependencies = Sets.newLinkedHashSet();
+        reversedDependencies.add(otherOperation);
+        reversedDependencies.add(OPERATION);
+
+        assertEquals(CompilationArtifactBundle.getSourceHash(FLOW, dependencies),
+                CompilationArtifactBundle.getSourceHash(FLOW, reversedDependencies));
+        assertNotEquals(CompilationArtifactBundle.getSourceHash(FLOW, dependencies),
+                CompilationArtifactBundle.getSourceHash(OPERATION, Sets.newHashSet(FLOW, otherOperation)));
+    }
+
+    @Test
+    public void testBundleOfOtherCompilerIsNotRead() throws IOException {
+        String sourceHash = CompilationArtifactBundle.getSourceHash(FLOW, Collections.singleton(OPERATION));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CompilationArtifactBundle.write(createArtifact(), sourceHash, "1.0", bytes);
+
+        assertNotNull(CompilationArtifactBundle.read(new ByteArrayInputStream(bytes.toByteArray()),
+                sourceHash, "1.0"));
+        assertNull(CompilationArtifactBundle.read(new ByteArrayInputStream(bytes.toByteArray()),
+                sourceHash, "1.1"));
+    }
+
+    @Test
+    public void testBundleIsNotReadByCompilerOfUnknownVersion() throws IOException {
+        String sourceHash = CompilationArtifactBundle.getSourceHash(FLOW, Collections.singleton(OPERATION));
+
+        assertNull(CompilationArtifactBundle.read(new ByteArrayInputStream(write(createArtifact(), sourceHash)),
+                sourceHash, null));
+    }
+
+    @Test(expected = IOException.class)
+    public void testBundleIsNotWrittenByCompilerOfUnknownVersion() throws IOException {
+        CompilationArtifactBundle.write(createArtifact(), "hash", null, new ByteArrayOutputStream());
+    }
+
+    @Test(expected = IOException.class)
+    public void testOtherContentIsRejected() throws IOException {
+        CompilationArtifactBundle.read(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}), "hash");
+    }
+
+    private byte[] write(CompilationArtifact artifact, String sourceHash) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CompilationArtifactBundle.write(artifact, sourceHash, bytes);
+        return bytes.toByteArray();
+    }
+
+    private CompilationArtifact createArtifact() {
+        ExecutionPlan executionPlan = new ExecutionPlan();
+        executionPlan.setFlowUuid("user.flows.flow");
+        executionPlan.setBeginStep(1L);
+        ExecutionPlan operationExecutionPlan = new ExecutionPlan();
+        operationExecutionPlan.setFlowUuid("user.ops.op");
+        Map<String, ExecutionPlan> dependencies = new HashMap<>();
+        dependencies.put("user.ops.op", operationExecutionPlan);
+        return new CompilationArtifact(executionPlan, dependencies,
+                Collections.singletonList(new Input.InputBuilder("input1", "value1").build()),
+                Collections.singleton("user.sys.prop"));
+    }
+}
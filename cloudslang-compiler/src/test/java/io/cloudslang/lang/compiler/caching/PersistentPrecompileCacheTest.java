@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.caching;
+
+import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.compiler.modeller.model.Action;
+import io.cloudslang.lang.compiler.modeller.model.Executable;
+import io.cloudslang.lang.compiler.modeller.model.Operation;
+import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
+import io.cloudslang.lang.entities.bindings.Input;
+import io.cloudslang.lang.entities.bindings.Output;
+import io.cloudslang.lang.entities.bindings.Result;
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PersistentPrecompileCacheTest {
+
+    private static final long MAX_SIZE = 1024 * 1024;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testStoredModelIsFoundBySourceContent() throws IOException {
+        File directory = folder.newFolder("cache");
+        SlangSource source = new SlangSource("namespace: user.ops\noperation:\n  name: op", "op.sl");
+        ExecutableModellingResult result = createResult("op", "error");
+        new PersistentPrecompileCache(directory, MAX_SIZE, "1.0").put(source, result);
+
+        ExecutableModellingResult storedResult = new PersistentPrecompileCache(directory, MAX_SIZE, "1.0")
+                .get(new SlangSource(source.getContent(), "op.sl"));
+
+        assertNotNull(storedResult);
+        Executable executable = storedResult.getExecutable();
+        assertEquals(result.getExecutable(), executable);
+        assertEquals("user.ops.op", executable.getId());
+        assertEquals("error", storedResult.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    public void testChangedSourceOrCompilerIsMissing() throws IOException {
+        File directory = folder.newFolder("cache");
+        SlangSource source = new SlangSource("namespace: user.ops\noperation:\n  name: op", "op.sl");
+        PersistentPrecompileCache cache = new PersistentPrecompileCache(directory, MAX_SIZE, "1.0");
+        cache.put(source, createResult("op"));
+
+        assertNull(cache.get(new SlangSource(source.getContent() + "\n", "op.sl")));
+        assertNull(cache.get(new SlangSource(source.getContent(), "other_op.sl")));
+        assertNull(new PersistentPrecompileCache(directory, MAX_SIZE, "1.1").get(source));
+    }
+
+    @Test
+    public void testUnreadableEntryIsDropped() throws IOException {
+        File directory = folder.newFolder("cache");
+        SlangSource source = new SlangSource("namespace: user.ops\noperation:\n  name: op", "op.sl");
+        PersistentPrecompileCache cache = new PersistentPrecompileCache(directory, MAX_SIZE, "1.0");
+        cache.put(source, createResult("op"));
+        File[] entries = directory.listFiles();
+        assertEquals(1, entries.length);
+        Files.write(entries[0].toPath(), new byte[]{1, 2, 3});
+
+        assertNull(cache.get(source));
+        assertEquals(0, directory.listFiles().length);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntriesAreEvicted() throws IOException {
+        File directory = folder.newFolder("cache");
+        String padding = StringUtils.repeat("x", 10 * 1024);
+        List<SlangSource> sources = new ArrayList<>();
+        Set<File> entries = new HashSet<>();
+        PersistentPrecompileCache cache = new PersistentPrecompileCache(directory, 200 * 1024, "1.0");
+        for (int index = 0; index < 30; index++) {
+            SlangSource source = new SlangSource("op" + index, "op" + index + ".sl");
+            sources.add(source);
+            cache.put(source, createResult("op" + index, padding));
+            for (File entry : directory.listFiles()) {
+                if (entries.add(entry)) {
+                    assertTrue(entry.setLastModified(1000000000000L + index * 1000L));
+                }
+            }
+        }
+        cache.evict();
+        long size = 0;
+        for (File entry : directory.listFiles()) {
+            size += entry.length();
+        }
+
+        assertTrue(size <= 200 * 1024);
+        assertNotNull(cache.get(sources.get(29)));
+        assertNull(cache.get(sources.get(0)));
+    }
+
+    private ExecutableModellingResult createResult(String name, String... errors) {
+        Map<String, Serializable> actionData = new HashMap<>();
+        actionData.put("python_action", "print 'hello'");
+        Operation operation = new Operation(new HashMap<String, Serializable>(), new HashMap<String, Serializable>(),
+                new Action(actionData), "user.ops", name, new ArrayList<Input>(), new ArrayList<Output>(),
+                new ArrayList<Result>(), new HashSet<String>(), Collections.<String>emptySet());
+        List<RuntimeException> exceptions = new ArrayList<>();
+        for (String error : errors) {
+            exceptions.add(new RuntimeException(error));
+        }
+        return new ExecutableModellingResult(operation, exceptions);
+    }
+}
@@ -18,9 +18,11 @@ import io.cloudslang.lang.compiler.modeller.model.Step;
 import io.cloudslang.lang.compiler.modeller.model.Workflow;
 
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -31,6 +33,8 @@ import org.junit.rules.ExpectedException;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -97,4 +101,100 @@ public class DependenciesHelperTest {
         assertEquals(Sets.newHashSet(stepRefId), result);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testFetchDependenciesCircularFlows() throws Exception {
+        Flow flow1 = mockFlow("a.b.flow_01", "a.b.flow_02");
+        Flow flow2 = mockFlow("a.b.flow_02", "a.b.flow_01");
+        Map<String, Executable> availableDependencies = new HashMap<>();
+        availableDependencies.put("a.b.flow_01", flow1);
+        availableDependencies.put("a.b.flow_02", flow2);
+
+        Set<String> result = dependenciesHelper.fetchDependencies(flow1, availableDependencies);
+
+        assertEquals(Sets.newHashSet("a.b.flow_01", "a.b.flow_02"), result);
+    }
+
+    @Test
+    public void testFetchDependents() throws Exception {
+        Map<String, Executable> availableExecutables = new HashMap<>();
+        availableExecutables.put("a.b.flow_01", mockFlow("a.b.flow_01", "a.b.flow_02"));
+        availableExecutables.put("a.b.flow_02", mockFlow("a.b.flow_02", "a.b.flow_01", "a.b.op_01"));
+        availableExecutables.put("a.b.flow_03", mockFlow("a.b.flow_03", "a.b.flow_02"));
+        availableExecutables.put("a.b.flow_04", mockFlow("a.b.flow_04", "a.b.op_02"));
+        availableExecutables.put("a.b.op_01", mockOperation("a.b.op_01"));
+        availableExecutables.put("a.b.op_02", mockOperation("a.b.op_02"));
+
+        Set<String> result = dependenciesHelper.fetchDependents(Sets.newHashSet("a.b.op_01"), availableExecutables);
+
+        assertEquals(Sets.newHashSet("a.b.op_01", "a.b.flow_01", "a.b.flow_02", "a.b.flow_03"), result);
+    }
+
+    @Test
+    public void testMatchReferencesCircularFlows() throws Exception {
+        Flow flow1 = mockFlow("a.b.flow_01", "a.b.flow_02");
+        Flow flow2 = mockFlow("a.b.flow_02", "a.b.flow_01", "a.b.op_01");
+        Flow flow3 = mockFlow("a.b.flow_03", "a.b.flow_02");
+        Operation operation = mockOperation("a.b.op_01");
+        List<Executable> availableDependencies = Arrays.asList(flow1, flow2, flow3, operation);
+
+        Map<String, Executable> result1 = dependenciesHelper.matchReferences(flow1, availableDependencies);
+        Map<String, Executable> result3 = dependenciesHelper.matchReferences(flow3, availableDependencies);
+
+        Map<String, Executable> expected = new HashMap<>();
+        expected.put("a.b.flow_01", flow1);
+        expected.put("a.b.flow_02", flow2);
+        expected.put("a.b.op_01", operation);
+        assertEquals(expected, result1);
+        assertEquals(expected, result3);
+    }
+
+    @Test
+    public void testMatchReferencesResolvesFlowOnceForSameExecutables() throws Exception {
+        Flow flow1 = mockFlow("a.b.flow_01", "a.b.flow_02");
+        Flow flow2 = mockFlow("a.b.flow_02", "a.b.op_01");
+        Operation operation = mockOperation("a.b.op_01");
+        List<Executable> availableDependencies = Arrays.asList(flow1, flow2, operation);
+
+        dependenciesHelper.matchReferences(flow1, availableDependencies);
+        dependenciesHelper.matchReferences(flow1, Arrays.asList(operation, flow2, flow1));
+        dependenciesHelper.matchReferences(flow2, availableDependencies);
+
+        verify(flow1, times(1)).getExecutableDependencies();
+        verify(flow2, times(1)).getExecutableDependencies();
+    }
+
+    @Test
+    public void testMatchReferencesMissingReference() throws Exception {
+        Flow flow = mockFlow("a.b.flow_01", "a.b.op_01");
+        when(flow.getName()).thenReturn("flow_01");
+
+        exception.expect(RuntimeException.class);
+        exception.expectMessage("Reference: 'a.b.op_01' in executable: 'flow_01', wasn't found in path");
+        dependenciesHelper.matchReferences(flow, Collections.<Executable>singletonList(flow));
+    }
+
+    private Flow mockFlow(String id, String... refIds) {
+        Flow flow = mock(Flow.class);
+        Workflow workflow = mock(Workflow.class);
+        Deque<Step> steps = new ArrayDeque<>();
+        for (String refId : refIds) {
+            Step step = mock(Step.class);
+            when(step.getRefId()).thenReturn(refId);
+            steps.add(step);
+        }
+        when(flow.getId()).thenReturn(id);
+        when(flow.getType()).thenReturn(SlangTextualKeys.FLOW_TYPE);
+        when(flow.getWorkflow()).thenReturn(workflow);
+        when(workflow.getSteps()).thenReturn(steps);
+        when(flow.getExecutableDependencies()).thenReturn(Sets.newHashSet(refIds));
+        return flow;
+    }
+
+    private Operation mockOperation(String id) {
+        Operation operation = mock(Operation.class);
+        when(operation.getId()).thenReturn(id);
+        when(operation.getType()).thenReturn(SlangTextualKeys.OPERATION_TYPE);
+        return operation;
+    }
+
+}
@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.modeller.transformers;
+
+import io.cloudslang.lang.compiler.modeller.result.TransformModellingResult;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MaxParallelismTransformerTest {
+
+    private MaxParallelismTransformer maxParallelismTransformer = new MaxParallelismTransformer();
+
+    @Test
+    public void testTransformInteger() throws Exception {
+        TransformModellingResult<Integer> result = maxParallelismTransformer.transform(5);
+        Assert.assertEquals(Integer.valueOf(5), result.getTransformedData());
+        Assert.assertTrue(result.getErrors().isEmpty());
+    }
+
+    @Test
+    public void testTransformString() throws Exception {
+        Assert.assertEquals(Integer.valueOf(3), maxParallelismTransformer.transform("3").getTransformedData());
+    }
+
+    @Test
+    public void testTransformNullIsUnlimited() throws Exception {
+        TransformModellingResult<Integer> result = maxParallelismTransformer.transform(null);
+        Assert.assertNull(result.getTransformedData());
+        Assert.assertTrue(result.getErrors().isEmpty());
+    }
+
+    @Test
+    public void testTransformNotPositive() throws Exception {
+        TransformModellingResult<Integer> result = maxParallelismTransformer.transform(0);
+        Assert.assertNull(result.getTransformedData());
+        Assert.assertEquals(1, result.getErrors().size());
+    }
+
+    @Test
+    public void testTransformNotANumber() throws Exception {
+        TransformModellingResult<Integer> result = maxParallelismTransformer.transform("${ max }");
+        Assert.assertNull(result.getTransformedData());
+        Assert.assertEquals(1, result.getErrors().size());
+    }
+}
@@ -11,6 +11,7 @@ package io.cloudslang.lang.compiler.parser;
 
 import io.cloudslang.lang.compiler.SlangSource;
 import io.cloudslang.lang.compiler.parser.model.ParsedDescriptionData;
+import io.cloudslang.lang.compiler.utils.SlangSourceUtils;
 import java.net.URI;
 import java.util.LinkedHashMap;
 import org.junit.Assert;
@@ -85,4 +86,37 @@ public class MetadataParserTest {
         Assert.assertTrue(parseResult.getStepDescriptions().size() == 0);
         Assert.assertTrue(parseResult.getErrors().size() == 0);
     }
+
+    @Test
+    public void testParseCodeLineInsideDescription() throws Exception {
+        SlangSource source = new SlangSource(
+                "#!!\n" +
+                        "#! @description: flow description\n" +
+                        "  namespace: user.flows\n" +
+                        "#!!#\n" +
+                        "flow:\n" +
+                        "  name: flow\n",
+                "flow.sl"
+        );
+        ParsedDescriptionData parseResult = metadataParser.parse(source);
+
+        Assert.assertTrue(parseResult.getTopLevelDescriptions().size() == 0);
+        Assert.assertTrue(parseResult.getErrors().size() == 1);
+        Assert.assertTrue(parseResult.getErrors().get(0).getMessage()
+                .contains("Line is not acceptable inside description section"));
+    }
+
+    @Test
+    public void testParseReadLines() throws Exception {
+        URI executable = getClass().getResource("/metadata/step/step_description_01.sl").toURI();
+        SlangSource source = SlangSource.fromFile(executable);
+
+        ParsedDescriptionData parseResult = metadataParser.parse(source, SlangSourceUtils.readLines(source));
+        ParsedDescriptionData expectedResult = metadataParser.parse(source);
+
+        Assert.assertEquals(expectedResult.getTopLevelDescriptions().get(0).getData(),
+                parseResult.getTopLevelDescriptions().get(0).getData());
+        Assert.assertEquals(expectedResult.getStepDescriptions().get("step_1").getData(),
+                parseResult.getStepDescriptions().get("step_1").getData());
+    }
 }
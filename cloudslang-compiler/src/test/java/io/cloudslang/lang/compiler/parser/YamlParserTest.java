@@ -15,6 +15,7 @@ import io.cloudslang.lang.compiler.parser.utils.ParserExceptionHandler;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -26,7 +27,10 @@ import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.yaml.snakeyaml.Yaml;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -63,4 +67,55 @@ public class YamlParserTest {
         exception.expectMessage("empty");
         yamlParser.parse(new SlangSource("", null));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testYamlIsCreatedOncePerThread() throws Exception {
+        final AtomicInteger createdYamls = new AtomicInteger();
+        YamlParser parser = new YamlParser() {
+            @Override
+            public Yaml getYaml() {
+                createdYamls.incrementAndGet();
+                return yaml;
+            }
+        };
+        Mockito.when(yaml.loadAs(anyString(), eq(ParsedSlang.class))).thenReturn(new ParsedSlang());
+
+        parser.parse(new SlangSource("a", "b"));
+        parser.parse(new SlangSource("c", "d"));
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                parser.parse(new SlangSource("e", "f"));
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertEquals(2, createdYamls.get());
+    }
+
+    @Test
+    public void testYamlIsCreatedAgainAfterFailure() throws Exception {
+        final AtomicInteger createdYamls = new AtomicInteger();
+        YamlParser parser = new YamlParser() {
+            @Override
+            public Yaml getYaml() {
+                createdYamls.incrementAndGet();
+                return yaml;
+            }
+        };
+        parser.setParserExceptionHandler(parserExceptionHandler);
+        Mockito.when(yaml.loadAs(eq("a"), eq(ParsedSlang.class))).thenThrow(new RuntimeException("bad"));
+        Mockito.when(yaml.loadAs(eq("c"), eq(ParsedSlang.class))).thenReturn(new ParsedSlang());
+
+        try {
+            parser.parse(new SlangSource("a", "b"));
+            fail("Expected a parsing error");
+        } catch (RuntimeException ex) {
+            // a new instance is used for the next source
+        }
+        parser.parse(new SlangSource("c", "d"));
+
+        assertEquals(2, createdYamls.get());
+    }
+}
@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.scorecompiler;
+
+import com.google.common.collect.Sets;
+import io.cloudslang.lang.compiler.SlangTextualKeys;
+import io.cloudslang.lang.compiler.modeller.DependenciesHelper;
+import io.cloudslang.lang.compiler.modeller.model.Executable;
+import io.cloudslang.lang.compiler.modeller.model.Flow;
+import io.cloudslang.lang.compiler.modeller.model.Operation;
+import io.cloudslang.lang.compiler.modeller.model.Step;
+import io.cloudslang.lang.compiler.modeller.model.Workflow;
+import io.cloudslang.lang.compiler.validator.CompileValidator;
+import io.cloudslang.lang.entities.CompilationArtifact;
+import io.cloudslang.lang.entities.bindings.Input;
+import io.cloudslang.score.api.ExecutionPlan;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ScoreCompilerImplTest {
+
+    private static final String OPERATION_ID = "user.ops.op";
+
+    private ScoreCompilerImpl scoreCompiler;
+    private ExecutionPlanBuilder executionPlanBuilder;
+    private DependenciesHelper dependenciesHelper;
+
+    @Before
+    public void setUp() {
+        executionPlanBuilder = mock(ExecutionPlanBuilder.class);
+        dependenciesHelper = mock(DependenciesHelper.class);
+        CompileValidator compileValidator = mock(CompileValidator.class);
+        when(compileValidator.validateModelWithDependencies(any(Executable.class), anyMapOf(String.class,
+                Executable.class))).thenReturn(Collections.<RuntimeException>emptyList());
+        when(executionPlanBuilder.createFlowExecutionPlan(any(Flow.class))).thenReturn(new ExecutionPlan());
+
+        scoreCompiler = new ScoreCompilerImpl();
+        scoreCompiler.setExecutionPlanBuilder(executionPlanBuilder);
+        scoreCompiler.setDependenciesHelper(dependenciesHelper);
+        scoreCompiler.setCompileValidator(compileValidator);
+    }
+
+    @Test
+    public void testDependencyExecutionPlanIsBuiltOnce() {
+        Operation operation = mockExecutable(Operation.class, OPERATION_ID, SlangTextualKeys.OPERATION_TYPE);
+        ExecutionPlan operationExecutionPlan = new ExecutionPlan();
+        when(executionPlanBuilder.createOperationExecutionPlan(operation)).thenReturn(operationExecutionPlan);
+        Flow flow1 = mockFlow("user.flows.flow1");
+        Flow flow2 = mockFlow("user.flows.flow2");
+        Set<Executable> path = Sets.<Executable>newHashSet(operation, flow1, flow2);
+        matchReferences(flow1, operation);
+        matchReferences(flow2, operation);
+
+        CompilationArtifact artifact1 = scoreCompiler.compile(flow1, path);
+        CompilationArtifact artifact2 = scoreCompiler.compile(flow2, path);
+
+        verify(executionPlanBuilder, times(1)).createOperationExecutionPlan(operation);
+        assertSame(operationExecutionPlan, artifact1.getDependencies().get(OPERATION_ID));
+        assertSame(operationExecutionPlan, artifact2.getDependencies().get(OPERATION_ID));
+    }
+
+    @Test
+    public void testChangedDependencyExecutionPlanIsBuiltAgain() {
+        Operation operation = mockExecutable(Operation.class, OPERATION_ID, SlangTextualKeys.OPERATION_TYPE);
+        Operation changedOperation = mockExecutable(Operation.class, OPERATION_ID, SlangTextualKeys.OPERATION_TYPE);
+        when(executionPlanBuilder.createOperationExecutionPlan(operation)).thenReturn(new ExecutionPlan());
+        when(executionPlanBuilder.createOperationExecutionPlan(changedOperation)).thenReturn(new ExecutionPlan());
+        Flow flow = mockFlow("user.flows.flow");
+        matchReferences(flow, operation);
+        CompilationArtifact artifact1 = scoreCompiler.compile(flow, Sets.<Executable>newHashSet(operation, flow));
+        matchReferences(flow, changedOperation);
+        CompilationArtifact artifact2 = scoreCompiler.compile(flow,
+                Sets.<Executable>newHashSet(changedOperation, flow));
+
+        verify(executionPlanBuilder, times(1)).createOperationExecutionPlan(operation);
+        verify(executionPlanBuilder, times(1)).createOperationExecutionPlan(changedOperation);
+        assertNotSame(artifact1.getDependencies().get(OPERATION_ID), artifact2.getDependencies().get(OPERATION_ID));
+    }
+
+    @Test
+    public void testDependencyExecutionPlanIsBuiltAgainForChangedOnFailureDependency() {
+        Operation operation = mockExecutable(Operation.class, OPERATION_ID, SlangTextualKeys.OPERATION_TYPE);
+        Operation changedOperation = mockExecutable(Operation.class, OPERATION_ID, SlangTextualKeys.OPERATION_TYPE);
+        Flow subflow = mockFlow("user.flows.subflow");
+        Step onFailureStep = mock(Step.class);
+        when(onFailureStep.isOnFailureStep()).thenReturn(true);
+        when(onFailureStep.getRefId()).thenReturn(OPERATION_ID);
+        when(onFailureStep.getNavigationStrings()).thenReturn(Collections.<Map<String, String>>emptyList());
+        when(subflow.getWorkflow().getSteps()).thenReturn(new ArrayDeque<>(Collections.singletonList(onFailureStep)));
+        Flow flow = mockFlow("user.flows.flow");
+
+        matchReferences(flow, operation, subflow);
+        scoreCompiler.compile(flow, Sets.<Executable>newHashSet(operation, subflow, flow));
+        scoreCompiler.compile(flow, Sets.<Executable>newHashSet(operation, subflow, flow));
+        matchReferences(flow, changedOperation, subflow);
+        scoreCompiler.compile(flow, Sets.<Executable>newHashSet(changedOperation, subflow, flow));
+
+        verify(executionPlanBuilder, times(2)).createFlowExecutionPlan(subflow);
+    }
+
+    private void matchReferences(Flow flow, Executable... dependencies) {
+        Map<String, Executable> dependenciesMap = new HashMap<>();
+        for (Executable dependency : dependencies) {
+            dependenciesMap.put(dependency.getId(), dependency);
+        }
+        when(dependenciesHelper.matchReferences(eq(flow), any(Collection.class))).thenReturn(dependenciesMap);
+    }
+
+    private Flow mockFlow(String id) {
+        Flow flow = mockExecutable(Flow.class, id, SlangTextualKeys.FLOW_TYPE);
+        Workflow workflow = mock(Workflow.class);
+        when(workflow.getSteps()).thenReturn(new ArrayDeque<Step>());
+        when(flow.getWorkflow()).thenReturn(workflow);
+        when(flow.getExecutableDependencies()).thenReturn(Sets.newHashSet(OPERATION_ID));
+        when(flow.getInputs()).thenReturn(Collections.<Input>emptyList());
+        return flow;
+    }
+
+    private <T extends Executable> T mockExecutable(Class<T> type, String id, String executableType) {
+        T executable = mock(type);
+        when(executable.getId()).thenReturn(id);
+        when(executable.getName()).thenReturn(id.substring(id.lastIndexOf('.') + 1));
+        when(executable.getType()).thenReturn(executableType);
+        when(executable.getExternalExecutableDependencies()).thenReturn(Collections.<String>emptySet());
+        when(executable.getSystemPropertyDependencies()).thenReturn(Collections.<String>emptySet());
+        return executable;
+    }
+}
@@ -11,9 +11,11 @@ package io.cloudslang.maven.compiler;
 
 import io.cloudslang.lang.compiler.SlangCompiler;
 import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.compiler.caching.PersistentPrecompileCache;
 import io.cloudslang.lang.compiler.configuration.SlangCompilerSpringConfig;
 import io.cloudslang.lang.compiler.modeller.model.Executable;
 import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.io.IOUtils;
 import org.codehaus.plexus.compiler.AbstractCompiler;
@@ -34,6 +36,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
@@ -55,6 +58,8 @@ public class CloudSlangMavenCompiler extends AbstractCompiler {
 
     private static String IGNORE_DEPENDENCIES = "ignore-dependencies";
     private static String IGNORE_ERRORS = "ignore-errors";
+    private static final String STATE_DIRECTORY = "cloudslang-compiler";
+    private static final String STATE_SUFFIX = ".state";
 
     private SlangCompiler slangCompiler;
 
@@ -69,6 +74,10 @@ public class CloudSlangMavenCompiler extends AbstractCompiler {
     }
 
 
+    void setSlangCompiler(SlangCompiler slangCompiler) {
+        this.slangCompiler = slangCompiler;
+    }
+
     @Override
     public boolean canUpdateTarget(CompilerConfiguration configuration) throws CompilerException {
         return false;
@@ -84,13 +93,27 @@ public class CloudSlangMavenCompiler extends AbstractCompiler {
         //and the framework support only one via the inputFileEnding
         config.setSourceFiles(null);
         String[] sourceFiles = getSourceFiles(config);
-        Map<String, byte[]> dependenciesSourceFiles = getDependenciesSourceFiles(config);
         if (sourceFiles.length > 0) {
-            System.out.println("Compiling " + sourceFiles.length + " " +
-                    "source file" + (sourceFiles.length == 1 ? "" : "s"));
+            Arrays.sort(sourceFiles);
+            File stateFile = getStateFile(config);
+            String buildConfiguration = getBuildConfiguration(config);
+            IncrementalBuildState previousState = IncrementalBuildState.load(stateFile, buildConfiguration);
+            IncrementalBuildState state = new IncrementalBuildState(buildConfiguration);
+            Build build = new Build(config, sourceFiles, previousState);
+
+            Set<String> filesToCompile = build.getFilesToCompile();
+            System.out.println("Compiling " + filesToCompile.size() + " " +
+                    "source file" + (filesToCompile.size() == 1 ? "" : "s") +
+                    (filesToCompile.size() == sourceFiles.length ? "" : " of " + sourceFiles.length + " (incremental)"));
             for (String sourceFile : sourceFiles) {
-                compilerMessage.addAll(compileFile(sourceFile, sourceFiles, dependenciesSourceFiles));
+                IncrementalBuildState.SourceState sourceState = filesToCompile.contains(sourceFile) ?
+                        compileFile(sourceFile, build) : previousState.getSource(sourceFile);
+                state.putSource(sourceFile, sourceState);
+                for (String message : sourceState.getMessages()) {
+                    compilerMessage.add(new CompilerMessage(message, errorLevel));
+                }
             }
+            saveState(state, stateFile);
 
             if (compilerMessage.size() > 0) {
                 compilerResult.setCompilerMessages(compilerMessage);
@@ -112,73 +135,247 @@ public class CloudSlangMavenCompiler extends AbstractCompiler {
                 CompilerMessage.Kind.WARNING : CompilerMessage.Kind.ERROR;
     }
 
-    private List<CompilerMessage> compileFile(String sourceFile, String[] sourceFiles,
-                                              Map<String, byte[]> dependenciesSourceFiles) {
-        ExecutableModellingResult executableModellingResult;
-        List<CompilerMessage> compilerMessages = new ArrayList<>();
-
+    private IncrementalBuildState.SourceState compileFile(String sourceFile, Build build) throws CompilerException {
+        List<String> messages = new ArrayList<>();
+        String executableId = null;
+        Set<String> dependencyIds = emptySet();
 
         try {
-            SlangSource slangSource = SlangSource.fromFile(new File(sourceFile));
-            executableModellingResult = slangCompiler.preCompileSource(slangSource);
+            ExecutableModellingResult executableModellingResult = build.preCompile(sourceFile);
+            Executable executable = executableModellingResult.getExecutable();
+            executableId = executable.getId();
+            dependencyIds = executable.getExecutableDependencies();
             if (!CollectionUtils.isEmpty(executableModellingResult.getErrors())) {
                 for (RuntimeException runtimeException : executableModellingResult.getErrors()) {
-                    compilerMessages.add(new CompilerMessage(sourceFile + ": " +
-                            runtimeException.getMessage(), errorLevel));
+                    messages.add(sourceFile + ": " + runtimeException.getMessage());
                 }
             } else {
                 if (compileWithDependencies) {
-                    compilerMessages.addAll(validateSlangModelWithDependencies(executableModellingResult,
-                            sourceFiles, dependenciesSourceFiles, sourceFile));
+                    messages.addAll(validateSlangModelWithDependencies(executable, build, sourceFile));
                 }
             }
+        } catch (CompilerException e) {
+            throw e;
         } catch (Exception e) {
-            compilerMessages.add(new CompilerMessage(sourceFile + ": " + e.getMessage(), errorLevel));
+            messages.add(sourceFile + ": " + e.getMessage());
         }
 
-        return compilerMessages;
+        return new IncrementalBuildState.SourceState(build.getContentHash(sourceFile), executableId,
+                dependencyIds, messages);
     }
 
-    private List<CompilerMessage> validateSlangModelWithDependencies(ExecutableModellingResult modellingResult,
-                                                                     String[] dependencies,
-                                                                     Map<String, byte[]> dependenciesSourceFiles,
-                                                                     String sourceFile) {
-        List<CompilerMessage> compilerMessages = new ArrayList<>();
-        Set<Executable> dependenciesExecutables = new HashSet<>();
+    private List<String> validateSlangModelWithDependencies(Executable executable, Build build,
+                                                            String sourceFile) throws CompilerException {
+        List<String> messages = new ArrayList<>();
 
-        Executable executable = modellingResult.getExecutable();
         //we need to verify only flows
         if (!executable.getType().equals("flow")) {
-            return compilerMessages;
+            return messages;
         }
 
-        for (String dependency : dependencies) {
-            try {
-                SlangSource slangSource = SlangSource.fromFile(new File(dependency));
-                modellingResult = slangCompiler.preCompileSource(slangSource);
-                dependenciesExecutables.add(modellingResult.getExecutable());
-            } catch (Exception e) {
-                this.getLogger().warn("Could not compile source: " + dependency);
-            }
-        }
-
-        for (Map.Entry<String, byte[]> dependencyEntry : dependenciesSourceFiles.entrySet()) {
-            try {
-                SlangSource slangSource = SlangSource.fromBytes(dependencyEntry.getValue(), dependencyEntry.getKey());
-                modellingResult = slangCompiler.preCompileSource(slangSource);
-                dependenciesExecutables.add(modellingResult.getExecutable());
-            } catch (Exception e) {
-                this.getLogger().warn("Could not compile source: " + dependencyEntry.getKey());
+        Set<Executable> dependenciesExecutables = new HashSet<>();
+        for (String dependencyId : executable.getExecutableDependencies()) {
+            Executable dependency = build.getExecutable(dependencyId);
+            if (dependency != null) {
+                dependenciesExecutables.add(dependency);
             }
         }
 
         List<RuntimeException> exceptions = slangCompiler.validateSlangModelWithDirectDependencies(executable,
                 dependenciesExecutables);
         for (RuntimeException runtimeException : exceptions) {
-            compilerMessages.add(new CompilerMessage(sourceFile + ": " + runtimeException.getMessage(), errorLevel));
+            messages.add(sourceFile + ": " + runtimeException.getMessage());
+        }
+
+        return messages;
+    }
+
+    /**
+     * The sources of one build: every source and dependency source is pre-compiled at most once,
+     * and only when it is compiled or referenced by a compiled flow.
+     */
+    private class Build {
+
+        private final CompilerConfiguration config;
+        private final IncrementalBuildState previousState;
+        private final Map<String, SlangSource> sources = new HashMap<>();
+        private final Map<String, String> contentHashes = new HashMap<>();
+        private final Map<String, ExecutableModellingResult> preCompiledSources = new HashMap<>();
+        private final Map<String, RuntimeException> preCompileFailures = new HashMap<>();
+        private final Map<String, String> sourceFilesByExecutableId = new HashMap<>();
+        private final Set<String> filesToCompile = new HashSet<>();
+        private Map<String, Executable> dependencyExecutables;
+
+        Build(CompilerConfiguration config, String[] sourceFiles, IncrementalBuildState previousState) {
+            this.config = config;
+            this.previousState = previousState;
+
+            Set<String> changedExecutableIds = new HashSet<>();
+            for (String sourceFile : sourceFiles) {
+                IncrementalBuildState.SourceState sourceState = previousState == null ? null :
+                        previousState.getSource(sourceFile);
+                if (sourceState == null || !sourceState.getContentHash().equals(getContentHash(sourceFile))) {
+                    filesToCompile.add(sourceFile);
+                    if (sourceState != null) {
+                        changedExecutableIds.add(sourceState.getExecutableId());
+                    }
+                } else if (sourceState.getExecutableId() != null &&
+                        !sourceFilesByExecutableId.containsKey(sourceState.getExecutableId())) {
+                    sourceFilesByExecutableId.put(sourceState.getExecutableId(), sourceFile);
+                }
+            }
+            if (previousState != null) {
+                Set<String> currentSourceFiles = new HashSet<>(Arrays.asList(sourceFiles));
+                for (Map.Entry<String, IncrementalBuildState.SourceState> entry :
+                        previousState.getSources().entrySet()) {
+                    if (!currentSourceFiles.contains(entry.getKey())) {
+                        changedExecutableIds.add(entry.getValue().getExecutableId());
+                    }
+                }
+            }
+
+            //the changed sources are pre-compiled first, their models replace the previous ones
+            for (String sourceFile : sourceFiles) {
+                if (filesToCompile.contains(sourceFile)) {
+                    try {
+                        String executableId = preCompile(sourceFile).getExecutable().getId();
+                        changedExecutableIds.add(executableId);
+                        sourceFilesByExecutableId.put(executableId, sourceFile);
+                    } catch (RuntimeException ex) {
+                        // reported when the file is compiled
+                    }
+                }
+            }
+
+            //and the flows that reference a changed model are validated again
+            if (previousState != null) {
+                for (String sourceFile : sourceFiles) {
+                    IncrementalBuildState.SourceState sourceState = previousState.getSource(sourceFile);
+                    if (sourceState != null && !filesToCompile.contains(sourceFile) &&
+                            CollectionUtils.containsAny(sourceState.getDependencyIds(), changedExecutableIds)) {
+                        filesToCompile.add(sourceFile);
+                    }
+                }
+            }
         }
 
-        return compilerMessages;
+        Set<String> getFilesToCompile() {
+            return filesToCompile;
+        }
+
+        String getContentHash(String sourceFile) {
+            String contentHash = contentHashes.get(sourceFile);
+            if (contentHash == null) {
+                try {
+                    contentHash = DigestUtils.sha256Hex(getSource(sourceFile).getContent());
+                } catch (RuntimeException ex) {
+                    // unreadable, compiled again to report it
+                    contentHash = "";
+                }
+                contentHashes.put(sourceFile, contentHash);
+            }
+            return contentHash;
+        }
+
+        ExecutableModellingResult preCompile(String sourceFile) {
+            RuntimeException failure = preCompileFailures.get(sourceFile);
+            if (failure != null) {
+                throw failure;
+            }
+            ExecutableModellingResult result = preCompiledSources.get(sourceFile);
+            if (result == null) {
+                try {
+                    result = slangCompiler.preCompileSource(getSource(sourceFile));
+                } catch (RuntimeException ex) {
+                    preCompileFailures.put(sourceFile, ex);
+                    throw ex;
+                }
+                preCompiledSources.put(sourceFile, result);
+            }
+            return result;
+        }
+
+        /**
+         * @param executableId the id of a source or dependency source
+         * @return its model, or null if there is none
+         */
+        Executable getExecutable(String executableId) throws CompilerException {
+            String sourceFile = sourceFilesByExecutableId.get(executableId);
+            if (sourceFile != null) {
+                try {
+                    return preCompile(sourceFile).getExecutable();
+                } catch (RuntimeException ex) {
+                    getLogger().warn("Could not compile source: " + sourceFile);
+                    return null;
+                }
+            }
+            return getDependencyExecutables().get(executableId);
+        }
+
+        private Map<String, Executable> getDependencyExecutables() throws CompilerException {
+            if (dependencyExecutables == null) {
+                dependencyExecutables = new HashMap<>();
+                for (Map.Entry<String, byte[]> dependencyEntry : getDependenciesSourceFiles(config).entrySet()) {
+                    try {
+                        SlangSource slangSource =
+                                SlangSource.fromBytes(dependencyEntry.getValue(), dependencyEntry.getKey());
+                        Executable executable = slangCompiler.preCompileSource(slangSource).getExecutable();
+                        dependencyExecutables.put(executable.getId(), executable);
+                    } catch (Exception e) {
+                        getLogger().warn("Could not compile source: " + dependencyEntry.getKey());
+                    }
+                }
+            }
+            return dependencyExecutables;
+        }
+
+        private SlangSource getSource(String sourceFile) {
+            SlangSource source = sources.get(sourceFile);
+            if (source == null) {
+                source = SlangSource.fromFile(new File(sourceFile));
+                sources.put(sourceFile, source);
+            }
+            return source;
+        }
+    }
+
+    /**
+     * @return the file of the incremental build state, e.g. target/cloudslang-compiler/classes.state,
+     *     or null when there is no output location
+     */
+    private static File getStateFile(CompilerConfiguration config) {
+        if (config.getOutputLocation() == null) {
+            return null;
+        }
+        File outputLocation = new File(config.getOutputLocation());
+        File buildDirectory = outputLocation.getAbsoluteFile().getParentFile();
+        return buildDirectory == null ? null :
+                new File(new File(buildDirectory, STATE_DIRECTORY), outputLocation.getName() + STATE_SUFFIX);
+    }
+
+    /**
+     * @return what the results of the build depend on besides the sources: the compiler, options and classpath
+     */
+    private String getBuildConfiguration(CompilerConfiguration config) {
+        StringBuilder buildConfiguration = new StringBuilder(PersistentPrecompileCache.getCompilerVersion())
+                .append('|').append(compileWithDependencies);
+        for (String classpathEntry : config.getClasspathEntries()) {
+            File file = new File(classpathEntry);
+            buildConfiguration.append('|').append(classpathEntry)
+                    .append(':').append(file.length()).append(':').append(file.lastModified());
+        }
+        return buildConfiguration.toString();
+    }
+
+    private void saveState(IncrementalBuildState state, File stateFile) {
+        if (stateFile == null) {
+            return;
+        }
+        try {
+            state.save(stateFile);
+        } catch (IOException e) {
+            this.getLogger().warn("Could not save the incremental build state: " + e.getMessage());
+        }
     }
 
     public String[] createCommandLine(CompilerConfiguration config) throws CompilerException {
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.maven.compiler;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The outcome of the last build of a source root, stored under the build directory,
+ * so that a rebuild compiles only the changed sources and the flows that reference them.
+ * The state of a build with a different configuration (compiler, options or classpath) is not used.
+ */
+class IncrementalBuildState implements Serializable {
+
+    private static final long serialVersionUID = -4153337213187626618L;
+
+    private final String buildConfiguration;
+    private final Map<String, SourceState> sources = new HashMap<>();
+
+    IncrementalBuildState(String buildConfiguration) {
+        this.buildConfiguration = buildConfiguration;
+    }
+
+    /**
+     * @param file the state file
+     * @param buildConfiguration the configuration of the current build
+     * @return the stored state, or null if there is none usable for the configuration
+     */
+    static IncrementalBuildState load(File file, String buildConfiguration) {
+        if (file == null || !file.isFile()) {
+            return null;
+        }
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(file.toPath()));
+             ObjectInputStream objectInputStream = new ObjectInputStream(inputStream)) {
+            IncrementalBuildState state = (IncrementalBuildState) objectInputStream.readObject();
+            return buildConfiguration.equals(state.buildConfiguration) ? state : null;
+        } catch (IOException | ClassNotFoundException | ClassCastException ex) {
+            // written by another version, the build is not incremental
+            return null;
+        }
+    }
+
+    void save(File file) throws IOException {
+        Path target = file.toPath();
+        Files.createDirectories(target.getParent());
+        Path tempFile = Files.createTempFile(target.getParent(), file.getName(), ".tmp");
+        try {
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(tempFile));
+                 ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream)) {
+                objectOutputStream.writeObject(this);
+            }
+            try {
+                Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    SourceState getSource(String sourceFile) {
+        return sources.get(sourceFile);
+    }
+
+    Map<String, SourceState> getSources() {
+        return sources;
+    }
+
+    void putSource(String sourceFile, SourceState sourceState) {
+        sources.put(sourceFile, sourceState);
+    }
+
+    static class SourceState implements Serializable {
+
+        private static final long serialVersionUID = 2508146398567447713L;
+
+        private final String contentHash;
+        /**
+         * null if the source could not be pre-compiled
+         */
+        private final String executableId;
+        private final Set<String> dependencyIds;
+        private final List<String> messages;
+
+        SourceState(String contentHash, String executableId, Set<String> dependencyIds, List<String> messages) {
+            this.contentHash = contentHash;
+            this.executableId = executableId;
+            this.dependencyIds = new HashSet<>(dependencyIds);
+            this.messages = new ArrayList<>(messages);
+        }
+
+        String getContentHash() {
+            return contentHash;
+        }
+
+        String getExecutableId() {
+            return executableId;
+        }
+
+        Set<String> getDependencyIds() {
+            return dependencyIds;
+        }
+
+        List<String> getMessages() {
+            return messages;
+        }
+    }
+}
@@ -9,12 +9,25 @@
  *******************************************************************************/
 package io.cloudslang.maven.compiler;
 
+import io.cloudslang.lang.compiler.SlangCompiler;
+import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.compiler.configuration.SlangCompilerSpringConfig;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import org.apache.commons.io.FileUtils;
 import org.codehaus.plexus.compiler.AbstractCompilerTest;
 import org.codehaus.plexus.compiler.Compiler;
 import org.codehaus.plexus.compiler.CompilerConfiguration;
+import org.codehaus.plexus.compiler.CompilerMessage;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 /**
  * Created by hanael on 10/07/2016.
@@ -58,6 +71,115 @@ public class CloudSlangMavenCompilerTest extends AbstractCompilerTest {
         assertEquals("Wrong number of compilation errors.", 0, numCompilerErrors);
     }
 
+    public void testIncrementalCompile() throws Exception {
+        File sourceDir = new File(getBasedir(), "target/incremental-test/content");
+        FileUtils.deleteDirectory(sourceDir.getParentFile());
+        FileUtils.copyDirectory(new File(getBasedir(), "src/test/resources/content"), sourceDir);
+        File outputDir = new File(sourceDir.getParentFile(), "classes");
+
+        CloudSlangMavenCompiler compiler = (CloudSlangMavenCompiler) this.lookup(Compiler.ROLE, this.getRoleHint());
+        SlangCompiler slangCompiler = new AnnotationConfigApplicationContext(SlangCompilerSpringConfig.class)
+                .getBean(SlangCompiler.class);
+        List<CompilerMessage> messages = new ArrayList<>();
+
+        // every source is pre-compiled once
+        assertEquals(preCompiledOnce("flow1.sl", "op1.sl", "output_op.sl", "print_text.sl"),
+                compileIncrementally(compiler, slangCompiler, sourceDir, outputDir, messages));
+        assertEquals("Wrong number of compilation errors.", 4, compilerErrorCount(messages));
+        assertTrue(new File(sourceDir.getParentFile(), "cloudslang-compiler/classes.state").isFile());
+
+        // nothing changed, the errors of the previous build are reported again
+        assertEquals(preCompiledOnce(), compileIncrementally(compiler, slangCompiler, sourceDir, outputDir, messages));
+        assertEquals("Wrong number of compilation errors.", 4, compilerErrorCount(messages));
+
+        // a dependency changes, it is compiled again with the flow that references it
+        FileUtils.writeStringToFile(new File(sourceDir, "op1.sl"), "\n# changed\n", true);
+        assertEquals(preCompiledOnce("flow1.sl", "op1.sl"),
+                compileIncrementally(compiler, slangCompiler, sourceDir, outputDir, messages));
+        assertEquals("Wrong number of compilation errors.", 4, compilerErrorCount(messages));
+
+        // an added source that no flow references is compiled alone
+        FileUtils.writeStringToFile(new File(sourceDir, "op2.sl"), createOperation("op2", "- SUCCESS"));
+        assertEquals(preCompiledOnce("op2.sl"),
+                compileIncrementally(compiler, slangCompiler, sourceDir, outputDir, messages));
+        assertEquals("Wrong number of compilation errors.", 4, compilerErrorCount(messages));
+
+        // a removed dependency, the flow that references it is compiled again and reports it
+        FileUtils.forceDelete(new File(sourceDir, "op1.sl"));
+        assertEquals(preCompiledOnce("flow1.sl"),
+                compileIncrementally(compiler, slangCompiler, sourceDir, outputDir, messages));
+        assertEquals("Wrong number of compilation errors.", 4, compilerErrorCount(messages));
+        assertTrue(containsMessage(messages, "flow1.sl: Dependency slang-deployment-cp-1.folder1.folder2.op1"));
+
+        // the dependency is added again with the result the flow navigates on, so the flow compiles
+        FileUtils.writeStringToFile(new File(sourceDir, "op1.sl"),
+                createOperation("op1", "- FAILURE: ${ False }\n    - SUCCESS"));
+        assertEquals(preCompiledOnce("flow1.sl", "op1.sl"),
+                compileIncrementally(compiler, slangCompiler, sourceDir, outputDir, messages));
+        assertEquals("Wrong number of compilation errors.", 3, compilerErrorCount(messages));
+        assertFalse(containsMessage(messages, "flow1.sl"));
+    }
+
+    /**
+     * @return how many times each source file was pre-compiled by the build
+     */
+    private Map<String, Integer> compileIncrementally(CloudSlangMavenCompiler compiler, SlangCompiler slangCompiler,
+                                                      File sourceDir, File outputDir,
+                                                      List<CompilerMessage> messages) throws Exception {
+        SlangCompiler slangCompilerSpy = spy(slangCompiler);
+        compiler.setSlangCompiler(slangCompilerSpy);
+        messages.clear();
+        messages.addAll(compiler.performCompile(getCompilerConfigurationIncremental(sourceDir, outputDir))
+                .getCompilerMessages());
+
+        ArgumentCaptor<SlangSource> sources = ArgumentCaptor.forClass(SlangSource.class);
+        verify(slangCompilerSpy, atLeast(0)).preCompileSource(sources.capture());
+        Map<String, Integer> preCompiledFiles = new HashMap<>();
+        for (SlangSource source : sources.getAllValues()) {
+            Integer count = preCompiledFiles.get(source.getName());
+            preCompiledFiles.put(source.getName(), count == null ? 1 : count + 1);
+        }
+        return preCompiledFiles;
+    }
+
+    private Map<String, Integer> preCompiledOnce(String... fileNames) {
+        Map<String, Integer> preCompiledFiles = new HashMap<>();
+        for (String fileName : fileNames) {
+            preCompiledFiles.put(fileName, 1);
+        }
+        return preCompiledFiles;
+    }
+
+    private boolean containsMessage(List<CompilerMessage> messages, String text) {
+        for (CompilerMessage message : messages) {
+            if (message.getMessage().contains(text)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String createOperation(String name, String results) {
+        return "namespace: slang-deployment-cp-1.folder1.folder2\n\n" +
+                "operation:\n" +
+                "  name: " + name + "\n" +
+                "  python_action:\n" +
+                "    script: pass\n" +
+                "  results:\n" +
+                "    " + results + "\n";
+    }
+
+    private CompilerConfiguration getCompilerConfigurationIncremental(File sourceDir, File outputDir)
+            throws Exception {
+        CompilerConfiguration compilerConfig = new CompilerConfiguration();
+        compilerConfig.setClasspathEntries(this.getClasspath());
+        compilerConfig.addSourceLocation(sourceDir.getPath());
+        compilerConfig.setOutputLocation(outputDir.getPath());
+        compilerConfig.setCustomCompilerArgumentsAsMap(new HashMap<String, String>());
+
+        return compilerConfig;
+    }
+
     private CompilerConfiguration getCompilerConfigurationShallowCompile() throws Exception {
         String sourceDir = getBasedir() + "/src/test/resources/content";
         Map<String, String> customCompilerArguments = new HashMap<>();
@@ -265,6 +265,11 @@ public class SlangTestRunner {
             resultMap.put(testCaseRunState, new LinkedHashMap<String, SlangTestCase>());
         }
 
+        Set<String> affectedExecutables = null;
+        if (buildModeConfig.getBuildMode() == SlangBuildMain.BuildMode.CHANGED) {
+            affectedExecutables = fetchAffectedExecutables(buildModeConfig);
+        }
+
         for (Map.Entry<String, SlangTestCase> testCaseEntry : testCases.entrySet()) {
             final SlangTestCase testCase = testCaseEntry.getValue();
             if (testCase == null) {
@@ -274,7 +279,7 @@ public class SlangTestRunner {
 
             if (isTestCaseInActiveSuite(testCase, testSuites) &&
                     isEnabledByBuildMode(buildModeConfig.getBuildMode(), testCase,
-                            buildModeConfig.getChangedFiles(), buildModeConfig.getAllTestedFlowModels())) {
+                            affectedExecutables, buildModeConfig.getAllTestedFlowModels())) {
                 processActiveTest(bulkRunMode, resultMap, testCaseEntry, testCase);
             } else {
                 processSkippedTest(runTestsResults, testCaseEntry, testCase, resultMap);
@@ -284,26 +289,37 @@ public class SlangTestRunner {
         return resultMap;
     }
 
+    /**
+     * The executables affected by the changed files are found in one pass over the references of all the models,
+     * instead of fetching the dependencies of every test case.
+     */
+    private Set<String> fetchAffectedExecutables(BuildModeConfig buildModeConfig) {
+        long startTime = System.currentTimeMillis();
+        Set<String> affectedExecutables = dependenciesHelper.fetchDependents(buildModeConfig.getChangedFiles(),
+                buildModeConfig.getAllTestedFlowModels());
+        loggingService.logEvent(Level.INFO, "Found " + affectedExecutables.size() +
+                " executable(s) affected by the changed files in " +
+                (System.currentTimeMillis() - startTime) + " ms");
+        return affectedExecutables;
+    }
+
     private boolean isEnabledByBuildMode(
             SlangBuildMain.BuildMode buildMode,
             SlangTestCase slangTestCase,
-            Set<String> changedExecutables,
+            Set<String> affectedExecutables,
             Map<String, Executable> allTestedFlowModels) {
         return (buildMode == SlangBuildMain.BuildMode.BASIC) ||
                 (buildMode == SlangBuildMain.BuildMode.CHANGED &&
-                        isAffectedTestCase(slangTestCase, changedExecutables, allTestedFlowModels));
+                        isAffectedTestCase(slangTestCase, affectedExecutables, allTestedFlowModels));
     }
 
-    private boolean isAffectedTestCase(SlangTestCase slangTestCase, Set<String> changedExecutables,
+    private boolean isAffectedTestCase(SlangTestCase slangTestCase, Set<String> affectedExecutables,
                                        Map<String, Executable> allTestedFlowModels) {
         String testFlowPath = slangTestCase.getTestFlowPath();
-        Executable testCaseReference = allTestedFlowModels.get(testFlowPath);
-        if (testCaseReference == null) {
+        if (!allTestedFlowModels.containsKey(testFlowPath)) {
             throw new RuntimeException("Test case reference[" + testFlowPath + "] not found in compiled models.");
         }
-        Set<String> testCaseDependencies = dependenciesHelper.fetchDependencies(testCaseReference, allTestedFlowModels);
-        testCaseDependencies.add(testFlowPath);
-        return containsAny(testCaseDependencies, changedExecutables);
+        return affectedExecutables.contains(testFlowPath);
     }
 
     private void processQuickFailTest(final IRunTestResults runTestsResults) {
@@ -10,6 +10,7 @@
 package io.cloudslang.lang.tools.build.tester;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import io.cloudslang.lang.api.Slang;
 import io.cloudslang.lang.commons.services.api.SlangSourceService;
 import io.cloudslang.lang.compiler.SlangSource;
@@ -105,6 +106,7 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -697,20 +699,24 @@ public class SlangTestRunnerTest {
         testCases.put("test2", testCase2);
         final List<String> testSuites = Lists.newArrayList("special");
         final IRunTestResults runTestResults = new RunTestsResults();
-        Set<String> changedFiles = new HashSet<>();
+        Set<String> changedFiles = Sets.newHashSet("changedOperation");
         Map<String, Executable> allTestedFlowModels = new HashMap<>();
         Executable executable = mock(Executable.class);
         allTestedFlowModels.put("testFlowPath1", executable);
         allTestedFlowModels.put("testFlowPath2", executable);
         BuildModeConfig buildModeConfig = createChangedBuildModeConfig(changedFiles, allTestedFlowModels);
-        when(dependenciesHelper.fetchDependencies(any(Executable.class), anyMapOf(String.class, Executable.class)))
-                .thenReturn(new HashSet<String>());
+        when(dependenciesHelper.fetchDependents(anySetOf(String.class), anyMapOf(String.class, Executable.class)))
+                .thenReturn(Sets.newHashSet("changedOperation", "testFlowPath2"));
 
         // Tested call
-        slangTestRunner
+        Map<TestCaseRunState, Map<String, SlangTestCase>> testCaseRunStateMapMap = slangTestRunner
                 .splitTestCasesByRunState(ALL_SEQUENTIAL, testCases, testSuites, runTestResults, buildModeConfig);
 
-        verify(dependenciesHelper, times(2)).fetchDependencies(eq(executable), eq(allTestedFlowModels));
+        verify(dependenciesHelper, times(1)).fetchDependents(eq(changedFiles), eq(allTestedFlowModels));
+        verify(dependenciesHelper, never()).fetchDependencies(any(Executable.class),
+                anyMapOf(String.class, Executable.class));
+        Assert.assertTrue(testCaseRunStateMapMap.get(TestCaseRunState.INACTIVE).values().contains(testCase1));
+        Assert.assertTrue(testCaseRunStateMapMap.get(TestCaseRunState.SEQUENTIAL).values().contains(testCase2));
     }
 
     @Test
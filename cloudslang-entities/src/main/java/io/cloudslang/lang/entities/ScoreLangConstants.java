@@ -66,6 +66,8 @@ public interface ScoreLangConstants {
     String PARALLEL_LOOP_STATEMENT_KEY = "parallelLoopStatement";
     String BRANCH_BEGIN_STEP_ID_KEY = "branchBeginStep";
     String BRANCH_RESULT_KEY = "branch_result";
+    String MAX_PARALLELISM_KEY = "maxParallelism";
+    String ADD_BRANCHES_STEP_ID_KEY = "addBranchesStepId";
 
     // Events types
     String SLANG_EXECUTION_EXCEPTION = "SLANG_EXECUTION_EXCEPTION";
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.entities.bindings.values;
+
+import java.io.Serializable;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Contents decrypted by the sensitive values read during an execution step, so a value read by several
+ * expressions of the step is decrypted once.
+ * <p>
+ * The contents are opened for the thread running the step and closed at the end of the step, which drops
+ * the decrypted contents. A step which fails before its end closes them on failure, and opening the contents
+ * of the next step drops any contents still open on the thread, so they never outlive the step.
+ * They are not serializable, so they never reach the persisted execution or the events.
+ */
+public final class DecryptedContents {
+
+    private static final ThreadLocal<DecryptedContents> CURRENT = new ThreadLocal<>();
+
+    private final Map<SensitiveValue, DecryptedContent> contents = new IdentityHashMap<>();
+
+    private volatile boolean closed;
+
+    private DecryptedContents() {
+    }
+
+    /**
+     * @return the decrypted contents of the step running in the current thread
+     */
+    public static DecryptedContents open() {
+        DecryptedContents stale = CURRENT.get();
+        if (stale != null) {
+            stale.close();
+        }
+        DecryptedContents decryptedContents = new DecryptedContents();
+        CURRENT.set(decryptedContents);
+        return decryptedContents;
+    }
+
+    /**
+     * Drops the decrypted contents; values read afterwards are decrypted on every read
+     */
+    public void close() {
+        synchronized (contents) {
+            closed = true;
+            contents.clear();
+        }
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * @return whether decrypted contents are open for the current thread
+     */
+    public static boolean isOpen() {
+        return current() != null;
+    }
+
+    /**
+     * The contents may have been closed by another thread, e.g. when the step ends on another thread
+     */
+    static DecryptedContents current() {
+        DecryptedContents decryptedContents = CURRENT.get();
+        if (decryptedContents != null && decryptedContents.closed) {
+            CURRENT.remove();
+            return null;
+        }
+        return decryptedContents;
+    }
+
+    Serializable get(SensitiveValue value, String content) {
+        synchronized (contents) {
+            DecryptedContent decryptedContent = contents.get(value);
+            return (decryptedContent != null && decryptedContent.content.equals(content)) ?
+                    decryptedContent.decrypted : null;
+        }
+    }
+
+    void put(SensitiveValue value, String content, Serializable decrypted) {
+        synchronized (contents) {
+            if (!closed) {
+                contents.put(value, new DecryptedContent(content, decrypted));
+            }
+        }
+    }
+
+    private static class DecryptedContent {
+
+        private final String content;
+        private final Serializable decrypted;
+
+        private DecryptedContent(String content, Serializable decrypted) {
+            this.content = content;
+            this.decrypted = decrypted;
+        }
+    }
+}
@@ -11,13 +11,12 @@ package io.cloudslang.lang.entities.bindings.values;
 
 import java.io.Serializable;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Arrays;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import javassist.util.proxy.MethodFilter;
 import javassist.util.proxy.MethodHandler;
 import javassist.util.proxy.Proxy;
@@ -35,12 +34,10 @@ import org.python.core.PyType;
  */
 public class PyObjectValueProxyFactory {
 
-    private static final ReadWriteLock readWriteLock = new ReentrantReadWriteLock();
-    private static final Lock writeLock = readWriteLock.writeLock();
-
     public static final String PROXY_CLASS_SUFFIX = "Value";
 
-    private static ConcurrentMap<String, PyObjectValueProxyClass> proxyClasses = new ConcurrentHashMap<>();
+    private static ConcurrentMap<Class<? extends PyObject>, PyObjectValueProxyClass> proxyClasses =
+            new ConcurrentHashMap<>();
 
     public static PyObjectValue create(Serializable content, boolean sensitive) {
         PyObject pyObject = Py.java2py(content);
@@ -56,29 +53,37 @@ public class PyObjectValueProxyFactory {
         }
     }
 
-    private static PyObjectValueProxyClass getProxyClass(PyObject pyObject) throws Exception {
-        String proxyClassName = pyObject.getClass() + PROXY_CLASS_SUFFIX;
-        PyObjectValueProxyClass proxyClass = proxyClasses.get(proxyClassName);
+    /**
+     * Creates the proxy classes of the given python objects' classes ahead of their first use
+     */
+    public static void preloadProxyClasses(PyObject... pyObjects) {
+        for (PyObject pyObject : pyObjects) {
+            getProxyClass(pyObject);
+        }
+    }
+
+    private static PyObjectValueProxyClass getProxyClass(PyObject pyObject) {
+        PyObjectValueProxyClass proxyClass = proxyClasses.get(pyObject.getClass());
         if (proxyClass == null) {
-            writeLock.lock();
-            try {
-                proxyClass = proxyClasses.get(proxyClassName);
-                if (proxyClass == null) {
-                    ProxyFactory factory = new ProxyFactory();
-                    factory.setSuperclass(pyObject.getClass());
-                    factory.setInterfaces(new Class[]{PyObjectValue.class});
-                    factory.setFilter(new PyObjectValueMethodFilter());
-                    factory.setUseWriteReplace(false);
-                    proxyClasses.putIfAbsent(proxyClassName, createProxyClass(factory.createClass(), pyObject));
-                    proxyClass = proxyClasses.get(proxyClassName);
-                }
-            } finally {
-                writeLock.unlock();
-            }
+            proxyClass = proxyClasses.computeIfAbsent(pyObject.getClass(), key -> createProxyClass(pyObject));
         }
         return proxyClass;
     }
 
+    private static PyObjectValueProxyClass createProxyClass(PyObject pyObject) {
+        ProxyFactory factory = new ProxyFactory();
+        factory.setSuperclass(pyObject.getClass());
+        factory.setInterfaces(new Class[]{PyObjectValue.class});
+        factory.setFilter(new PyObjectValueMethodFilter());
+        factory.setUseWriteReplace(false);
+        try {
+            return createProxyClass(factory.createClass(), pyObject);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to create a proxy class for PyObjectValue and " +
+                    pyObject.getClass().getSimpleName(), e);
+        }
+    }
+
     private static PyObjectValueProxyClass createProxyClass(Class proxyClass, PyObject pyObject) throws Exception {
         Constructor<?> constructor = proxyClass.getConstructors()[0];
         for (Constructor<?> con : proxyClass.getConstructors()) {
@@ -129,35 +134,46 @@ public class PyObjectValueProxyFactory {
             this.accessed = false;
         }
 
+        /**
+         * The proxy class extends the class of the wrapped PyObject, so the method javassist resolved
+         * for the proxy class is invoked directly on the delegate, without being looked up again
+         */
         @Override
         public Object invoke(Object self, Method thisMethod, Method proceed, Object[] args) throws Throwable {
-            if (thisMethod.getName().equals(ACCESSED_GETTER_METHOD)) {
+            Class<?> declaringClass = thisMethod.getDeclaringClass();
+            if (declaringClass == PyObjectValue.class && thisMethod.getName().equals(ACCESSED_GETTER_METHOD)) {
                 return accessed;
-            } else if (Value.class.isAssignableFrom(thisMethod.getDeclaringClass())) {
-                Method valueMethod = value.getClass().getMethod(thisMethod.getName(), thisMethod.getParameterTypes());
-                return valueMethod.invoke(value, args);
-            } else if (PyObject.class.isAssignableFrom(thisMethod.getDeclaringClass())) {
-                Method pyObjectMethod = pyObject.getClass()
-                        .getMethod(thisMethod.getName(), thisMethod.getParameterTypes());
+            } else if (Value.class.isAssignableFrom(declaringClass)) {
+                return invoke(thisMethod, value, args);
+            } else if (PyObject.class.isAssignableFrom(declaringClass)) {
                 if (!thisMethod.getName().equals("toString")) {
                     accessed = true;
                 }
-                return pyObjectMethod.invoke(pyObject, getPyObjectArgs(args));
+                return invoke(thisMethod, pyObject, getPyObjectArgs(args));
             } else {
                 throw new RuntimeException("Failed to invoke PyObjectValue method. Implementing class not found");
             }
         }
 
+        private Object invoke(Method method, Object target, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
         private Object[] getPyObjectArgs(Object[] args) {
-            Object[] pyObjectArgs = new Object[args.length];
+            Object[] pyObjectArgs = args;
             for (int index = 0; index < args.length; index++) {
                 if (args[index] instanceof PyObjectValue) {
+                    if (pyObjectArgs == args) {
+                        pyObjectArgs = Arrays.copyOf(args, args.length);
+                    }
                     PyObjectValueMethodHandler handler = (PyObjectValueMethodHandler) ((ProxyObject) args[index])
                             .getHandler();
                     handler.accessed = true;
                     pyObjectArgs[index] = handler.pyObject;
-                } else {
-                    pyObjectArgs[index] = args[index];
                 }
             }
             return pyObjectArgs;
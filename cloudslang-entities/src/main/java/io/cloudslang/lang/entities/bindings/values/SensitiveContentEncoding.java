@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.entities.bindings.values;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact binary encoding of the common contents of a sensitive value: strings, numbers, booleans
+ * and array lists and (linked) hash maps of those.
+ * <p>
+ * An encoded content starts with a marker and the version of the encoding. A Java serialization stream
+ * never starts with the marker, so contents encrypted before, or that are not supported here and are
+ * serialized instead, are told apart by their first byte. Only the exact supported classes are encoded,
+ * so a decoded content has the same classes as the original. Contents in which a list or map is referenced
+ * more than once, including lists and maps containing themselves, are serialized so the references are kept.
+ */
+final class SensitiveContentEncoding {
+
+    private static final byte MARKER = (byte) 0xC5;
+    private static final byte VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte FLOAT = 5;
+    private static final byte SHORT = 6;
+    private static final byte BYTE = 7;
+    private static final byte BOOLEAN = 8;
+    private static final byte ARRAY_LIST = 9;
+    private static final byte HASH_MAP = 10;
+    private static final byte LINKED_HASH_MAP = 11;
+
+    private SensitiveContentEncoding() {
+    }
+
+    /**
+     * @param content the content to encode
+     * @return the encoded content, or null if it contains values that are not supported
+     */
+    static byte[] encode(Serializable content) {
+        if (!isSupported(content, Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>()))) {
+            return null;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(MARKER);
+            output.writeByte(VERSION);
+            write(output, content);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to encode object", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static boolean isEncoded(byte[] data) {
+        return data.length > 1 && data[0] == MARKER;
+    }
+
+    static Serializable decode(byte[] data) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(data))) {
+            input.readByte();
+            byte version = input.readByte();
+            if (version != VERSION) {
+                throw new RuntimeException("Unsupported encoding version: " + version);
+            }
+            return read(input);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to decode object", e);
+        }
+    }
+
+    private static boolean isSupported(Object value, Set<Object> containers) {
+        if (value == null || value instanceof String || value instanceof Integer || value instanceof Long ||
+                value instanceof Double || value instanceof Float || value instanceof Short ||
+                value instanceof Byte || value instanceof Boolean) {
+            return true;
+        }
+        Class<?> type = value.getClass();
+        if ((type == ArrayList.class || type == HashMap.class || type == LinkedHashMap.class) &&
+                !containers.add(value)) {
+            return false;
+        }
+        if (type == ArrayList.class) {
+            for (Object element : (List<?>) value) {
+                if (!isSupported(element, containers)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (type == HashMap.class || type == LinkedHashMap.class) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!isSupported(entry.getKey(), containers) || !isSupported(entry.getValue(), containers)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static void write(DataOutputStream output, Object value) throws IOException {
+        if (value == null) {
+            output.writeByte(NULL);
+        } else if (value instanceof String) {
+            byte[] utf8 = ((String) value).getBytes(StandardCharsets.UTF_8);
+            output.writeByte(STRING);
+            output.writeInt(utf8.length);
+            output.write(utf8);
+        } else if (value instanceof Integer) {
+            output.writeByte(INTEGER);
+            output.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeByte(LONG);
+            output.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            output.writeByte(DOUBLE);
+            output.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            output.writeByte(FLOAT);
+            output.writeFloat((Float) value);
+        } else if (value instanceof Short) {
+            output.writeByte(SHORT);
+            output.writeShort((Short) value);
+        } else if (value instanceof Byte) {
+            output.writeByte(BYTE);
+            output.writeByte((Byte) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte(BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            output.writeByte(ARRAY_LIST);
+            output.writeInt(list.size());
+            for (Object element : list) {
+                write(output, element);
+            }
+        } else {
+            Map<?, ?> map = (Map<?, ?>) value;
+            output.writeByte(value instanceof LinkedHashMap ? LINKED_HASH_MAP : HASH_MAP);
+            output.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                write(output, entry.getKey());
+                write(output, entry.getValue());
+            }
+        }
+    }
+
+    private static Serializable read(DataInputStream input) throws IOException {
+        byte type = input.readByte();
+        switch (type) {
+            case NULL:
+                return null;
+            case STRING:
+                byte[] utf8 = new byte[input.readInt()];
+                input.readFully(utf8);
+                return new String(utf8, StandardCharsets.UTF_8);
+            case INTEGER:
+                return input.readInt();
+            case LONG:
+                return input.readLong();
+            case DOUBLE:
+                return input.readDouble();
+            case FLOAT:
+                return input.readFloat();
+            case SHORT:
+                return input.readShort();
+            case BYTE:
+                return input.readByte();
+            case BOOLEAN:
+                return input.readBoolean();
+            case ARRAY_LIST:
+                int size = input.readInt();
+                ArrayList<Serializable> list = new ArrayList<>(size);
+                for (int index = 0; index < size; index++) {
+                    list.add(read(input));
+                }
+                return list;
+            case HASH_MAP:
+            case LINKED_HASH_MAP:
+                int entries = input.readInt();
+                HashMap<Serializable, Serializable> map = (type == HASH_MAP) ?
+                        new HashMap<Serializable, Serializable>() : new LinkedHashMap<Serializable, Serializable>();
+                for (int index = 0; index < entries; index++) {
+                    Serializable key = read(input);
+                    map.put(key, read(input));
+                }
+                return map;
+            default:
+                throw new IOException("Unknown value type: " + type);
+        }
+    }
+}
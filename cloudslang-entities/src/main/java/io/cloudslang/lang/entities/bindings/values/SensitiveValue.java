@@ -77,7 +77,10 @@ public class SensitiveValue implements Value {
     }
 
     protected String encrypt(Serializable originalContent) {
-        byte[] serialized = serialize(originalContent);
+        byte[] serialized = SensitiveContentEncoding.encode(originalContent);
+        if (serialized == null) {
+            serialized = serialize(originalContent);
+        }
         String serializedAsString = Base64.encodeBase64String(serialized);
         Encryption encryption = EncryptionProvider.get();
         if (SensitivityLevel.OBFUSCATED == sensitivityLevel) {
@@ -89,7 +92,7 @@ public class SensitiveValue implements Value {
 
     public void decrypt() {
         if (content != null) {
-            originalContent = decrypt(content);
+            originalContent = decryptContent(content);
             content = null;
         }
     }
@@ -105,7 +108,9 @@ public class SensitiveValue implements Value {
         String serializedAsString = new String(decrypted);
 
         byte[] serialized = Base64.decodeBase64(serializedAsString);
-        return deserialize(serialized);
+        // contents encrypted before the compact encoding, and unsupported ones, are Java serialized
+        return SensitiveContentEncoding.isEncoded(serialized) ?
+                SensitiveContentEncoding.decode(serialized) : deserialize(serialized);
     }
 
     public String getContent() {
@@ -118,7 +123,35 @@ public class SensitiveValue implements Value {
 
     @Override
     public Serializable get() {
-        return (originalContent != null) ? originalContent : ((content == null) ? null : decrypt(content));
+        if (originalContent != null) {
+            return originalContent;
+        }
+        return (content != null) ? decryptContent(content) : null;
+    }
+
+    /**
+     * Within a step, the content is decrypted once and each read gets its own copy of it
+     */
+    private Serializable decryptContent(String content) {
+        DecryptedContents decryptedContents = DecryptedContents.current();
+        if (decryptedContents == null) {
+            return decrypt(content);
+        }
+        Serializable decrypted = decryptedContents.get(this, content);
+        if (decrypted == null) {
+            decrypted = decrypt(content);
+            decryptedContents.put(this, content, decrypted);
+        }
+        return copy(decrypted);
+    }
+
+    private Serializable copy(Serializable decrypted) {
+        if (decrypted == null || decrypted instanceof String || decrypted instanceof Integer ||
+                decrypted instanceof Long || decrypted instanceof Double || decrypted instanceof Boolean) {
+            return decrypted;
+        }
+        byte[] encoded = SensitiveContentEncoding.encode(decrypted);
+        return (encoded != null) ? SensitiveContentEncoding.decode(encoded) : deserialize(serialize(decrypted));
     }
 
     @JsonIgnore
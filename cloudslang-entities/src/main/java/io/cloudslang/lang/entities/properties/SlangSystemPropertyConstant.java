@@ -12,7 +12,14 @@ package io.cloudslang.lang.entities.properties;
 public enum SlangSystemPropertyConstant {
     CSLANG_ENCODING("cslang.encoding"),
     LOG4J_CONFIGURATION("log4j.configuration"),
-    CSLANG_RUNTIME_EVENTS_VERBOSITY("cslang.runtime.events.verbosity");
+    CSLANG_RUNTIME_EVENTS_VERBOSITY("cslang.runtime.events.verbosity"),
+    CSLANG_COMPILATION_THREADS("cslang.compilation.threads"),
+    CSLANG_PRECOMPILE_CACHE_ENABLED("cslang.precompile.cache.enabled"),
+    CSLANG_PRECOMPILE_CACHE_DIR("cslang.precompile.cache.dir"),
+    CSLANG_PRECOMPILE_CACHE_MAX_SIZE("cslang.precompile.cache.max.size"),
+    CSLANG_PYTHON_WARMUP_ENABLED("cslang.python.warmup.enabled"),
+    CSLANG_ARTIFACT_BUNDLE_ENABLED("cslang.artifact.bundle.enabled"),
+    CSLANG_ARTIFACT_BUNDLE_DIR("cslang.artifact.bundle.dir");
 
     private final String value;
 
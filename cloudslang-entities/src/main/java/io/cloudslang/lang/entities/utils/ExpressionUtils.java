@@ -10,6 +10,7 @@
 package io.cloudslang.lang.entities.utils;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.regex.Matcher;
@@ -48,6 +49,11 @@ public final class ExpressionUtils {
     private static final Pattern GET_PATTERN_WITH_DEFAULT = compile(GET_REGEX_WITH_DEFAULT);
     private static final Pattern CHECK_EMPTY_PATTERN = compile(CHECK_EMPTY_REGEX);
 
+    // builtins that expose the whole namespace to the expression
+    private static final Set<String> NAMESPACE_FUNCTIONS = new HashSet<>(Arrays.asList(
+            "locals", "globals", "vars", "dir", "eval", "exec", "execfile", "input"));
+    private static final String GET_FUNCTION = "get";
+
     public static String extractExpression(Serializable value) {
         String expression = null;
         if (value instanceof String) {
@@ -68,6 +74,66 @@ public final class ExpressionUtils {
         return properties;
     }
 
+    /**
+     * Scans the expression for the names it may read from the context: every identifier outside of
+     * string literals and attribute accesses, and the keys of get('key') calls.
+     * The result may contain names that are not variables (functions, keywords, keyword arguments).
+     *
+     * @param expression the expression
+     * @return the names read by the expression, or null if they can not be determined statically -
+     *         the expression uses locals(), globals() or a similar builtin, or calls get with a non literal key
+     */
+    public static Set<String> extractVariableNames(String expression) {
+        Set<String> names = new HashSet<>();
+        int length = expression.length();
+        int position = 0;
+        boolean attribute = false;
+        while (position < length) {
+            char current = expression.charAt(position);
+            if (current == '\'' || current == '"') {
+                position = skipStringLiteral(expression, position);
+                attribute = false;
+            } else if (current == '#') {
+                while (position < length && expression.charAt(position) != '\n') {
+                    position++;
+                }
+            } else if (Character.isDigit(current)) {
+                while (position < length && (Character.isLetterOrDigit(expression.charAt(position)) ||
+                        expression.charAt(position) == '.')) {
+                    position++;
+                }
+                attribute = false;
+            } else if (Character.isLetter(current) || current == '_') {
+                int start = position;
+                while (position < length && (Character.isLetterOrDigit(expression.charAt(position)) ||
+                        expression.charAt(position) == '_')) {
+                    position++;
+                }
+                String name = expression.substring(start, position);
+                if (!attribute) {
+                    if (NAMESPACE_FUNCTIONS.contains(name) || name.startsWith("__")) {
+                        return null;
+                    }
+                    if (GET_FUNCTION.equals(name)) {
+                        String key = extractGetKey(expression, position);
+                        if (key == null) {
+                            return null;
+                        }
+                        names.add(key);
+                    }
+                    names.add(name);
+                }
+                attribute = false;
+            } else {
+                if (!Character.isWhitespace(current)) {
+                    attribute = current == '.';
+                }
+                position++;
+            }
+        }
+        return names;
+    }
+
     public static boolean matchGetFunction(String text) {
         return matchPattern(GET_PATTERN_WITH_DEFAULT, text) || matchPattern(GET_PATTERN, text);
     }
@@ -81,6 +147,61 @@ public final class ExpressionUtils {
         return matcher.find();
     }
 
+    /**
+     * @return the literal key of the get call starting at the given position, or null if it is not a literal
+     */
+    private static String extractGetKey(String expression, int position) {
+        int current = skipWhitespaces(expression, position);
+        if (current == expression.length() || expression.charAt(current) != '(') {
+            return null;
+        }
+        int start = skipWhitespaces(expression, current + 1);
+        if (start == expression.length() ||
+                (expression.charAt(start) != '\'' && expression.charAt(start) != '"')) {
+            return null;
+        }
+        int end = skipStringLiteral(expression, start);
+        int next = skipWhitespaces(expression, end);
+        String literal = expression.substring(start, end);
+        // single quoted literal without escape sequences
+        boolean plainLiteral = literal.length() >= 2 && literal.indexOf('\\') < 0 &&
+                literal.indexOf(literal.charAt(0), 1) == literal.length() - 1;
+        if (!plainLiteral || next == expression.length() ||
+                (expression.charAt(next) != ',' && expression.charAt(next) != ')')) {
+            return null;
+        }
+        return literal.substring(1, literal.length() - 1);
+    }
+
+    /**
+     * @return the position after the string literal starting at the given position
+     */
+    private static int skipStringLiteral(String expression, int start) {
+        char quote = expression.charAt(start);
+        boolean tripleQuote = expression.startsWith(new String(new char[]{quote, quote, quote}), start);
+        int position = start + (tripleQuote ? 3 : 1);
+        while (position < expression.length()) {
+            char current = expression.charAt(position);
+            if (current == '\\') {
+                position += 2;
+            } else if (current == quote && (!tripleQuote ||
+                    expression.startsWith(new String(new char[]{quote, quote, quote}), position))) {
+                return position + (tripleQuote ? 3 : 1);
+            } else {
+                position++;
+            }
+        }
+        return expression.length();
+    }
+
+    private static int skipWhitespaces(String expression, int position) {
+        int current = position;
+        while (current < expression.length() && Character.isWhitespace(expression.charAt(current))) {
+            current++;
+        }
+        return current;
+    }
+
     private static Set<String> matchFunction(Pattern functionPattern, String text, int parameterGroup) {
         Matcher matcher = functionPattern.matcher(text);
         Set<String> parameters = new HashSet<>();
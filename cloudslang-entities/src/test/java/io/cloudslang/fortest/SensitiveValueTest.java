@@ -41,7 +41,7 @@ public class SensitiveValueTest {
     @Test
     public void testSensitiveValueEncryptDecrypt() {
         final String originalValue = "OriginalSensitiveValue";
-        final String expectedEncryptedString = "{Encrypted}rO0ABXQAFk9yaWdpbmFsU2Vuc2l0aXZlVmFsdWU=";
+        final String expectedEncryptedString = "{Encrypted}xQEBAAAAFk9yaWdpbmFsU2Vuc2l0aXZlVmFsdWU=";
 
         SensitiveValue value = (SensitiveValue) ValueFactory.create(originalValue, true);
         verifyEncrypted(value, originalValue, expectedEncryptedString);
@@ -62,6 +62,17 @@ public class SensitiveValueTest {
         verifyEncrypted(value, originalValue, expectedEncryptedString);
     }
 
+    @Test
+    public void testSerializedSensitiveValueDecrypt() {
+        final String originalValue = "OriginalSensitiveValue";
+
+        SensitiveValue value = (SensitiveValue) ValueFactory.create("other", true);
+        value.setContent("{Encrypted}rO0ABXQAFk9yaWdpbmFsU2Vuc2l0aXZlVmFsdWU=");
+
+        value.decrypt();
+        verifyDecrypted(value, originalValue);
+    }
+
     @Test
     public void testEncryptedStringSensitiveValue() {
         final String originalValue = "foo";
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.entities.bindings.values;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SensitiveContentEncodingTest {
+
+    @Test
+    public void testScalarsAreDecodedToSameValues() {
+        for (Serializable content : Arrays.<Serializable>asList("password \u00e9\u4e2d", "", 42, 42L, 4.2d, 4.2f,
+                (short) 4, (byte) 2, true)) {
+            Serializable decoded = SensitiveContentEncoding.decode(SensitiveContentEncoding.encode(content));
+
+            assertEquals(content, decoded);
+            assertSame(content.getClass(), decoded.getClass());
+        }
+    }
+
+    @Test
+    public void testCollectionsAreDecodedToSameClasses() {
+        LinkedHashMap<String, Serializable> credentials = new LinkedHashMap<>();
+        credentials.put("user", "admin");
+        credentials.put("port", 22);
+        credentials.put("key", null);
+        ArrayList<Serializable> list = new ArrayList<>();
+        list.add("secret");
+        list.add(credentials);
+        HashMap<String, Serializable> content = new HashMap<>();
+        content.put("list", list);
+
+        Serializable decoded = SensitiveContentEncoding.decode(SensitiveContentEncoding.encode(content));
+
+        assertEquals(content, decoded);
+        assertSame(HashMap.class, decoded.getClass());
+        ArrayList<?> decodedList = (ArrayList<?>) ((HashMap<?, ?>) decoded).get("list");
+        assertSame(LinkedHashMap.class, decodedList.get(1).getClass());
+        assertEquals(Arrays.asList("user", "port", "key"),
+                new ArrayList<>(((LinkedHashMap<?, ?>) decodedList.get(1)).keySet()));
+    }
+
+    @Test
+    public void testUnsupportedContentIsNotEncoded() {
+        ArrayList<Serializable> list = new ArrayList<>();
+        list.add(new Date());
+
+        assertNull(SensitiveContentEncoding.encode(new Date()));
+        assertNull(SensitiveContentEncoding.encode(new LinkedList<>(Arrays.asList("a"))));
+        assertNull(SensitiveContentEncoding.encode(list));
+    }
+
+    @Test
+    public void testContentReferencingAListTwiceIsNotEncoded() {
+        ArrayList<Serializable> cyclicList = new ArrayList<>();
+        cyclicList.add("secret");
+        cyclicList.add(cyclicList);
+        HashMap<String, Serializable> cyclicMap = new HashMap<>();
+        cyclicMap.put("map", cyclicMap);
+        ArrayList<Serializable> sharedList = new ArrayList<>();
+        sharedList.add("secret");
+        ArrayList<Serializable> content = new ArrayList<>();
+        content.add(sharedList);
+        content.add(sharedList);
+
+        assertNull(SensitiveContentEncoding.encode(cyclicList));
+        assertNull(SensitiveContentEncoding.encode(cyclicMap));
+        assertNull(SensitiveContentEncoding.encode(content));
+    }
+
+    @Test
+    public void testJavaSerializedContentIsRecognized() {
+        assertFalse(SensitiveContentEncoding.isEncoded(SerializationUtils.serialize("password")));
+        assertTrue(SensitiveContentEncoding.isEncoded(SensitiveContentEncoding.encode("password")));
+    }
+
+    @Test
+    public void testEncodingIsSmallerThanJavaSerialization() {
+        HashMap<String, Serializable> content = new HashMap<>();
+        content.put("port", 22);
+        content.put("password", "secret");
+
+        assertTrue(SensitiveContentEncoding.encode(content).length * 3 < SerializationUtils.serialize(content).length);
+    }
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.entities.bindings.values;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+public class SensitiveValueTest {
+
+    private DecryptedContents decryptedContents;
+
+    @After
+    public void tearDown() {
+        if (decryptedContents != null) {
+            decryptedContents.close();
+        }
+    }
+
+    @Test
+    public void testContentIsDecryptedOncePerStep() {
+        CountingSensitiveValue value = new CountingSensitiveValue("encrypted");
+        decryptedContents = DecryptedContents.open();
+
+        assertEquals(plain("encrypted"), value.get());
+        assertEquals(plain("encrypted"), value.get());
+        assertEquals(1, value.decryptions);
+
+        decryptedContents.close();
+        value.get();
+        value.get();
+        assertEquals(3, value.decryptions);
+    }
+
+    @Test
+    public void testEveryReadGetsItsOwnContent() {
+        CountingSensitiveValue value = new CountingSensitiveValue("encrypted");
+        decryptedContents = DecryptedContents.open();
+
+        @SuppressWarnings("unchecked")
+        List<String> content = (List<String>) value.get();
+        content.add("changed");
+
+        assertEquals(plain("encrypted"), value.get());
+        assertNotSame(value.get(), value.get());
+        assertEquals(1, value.decryptions);
+    }
+
+    @Test
+    public void testChangedContentIsDecryptedAgain() {
+        CountingSensitiveValue value = new CountingSensitiveValue("encrypted1");
+        decryptedContents = DecryptedContents.open();
+        value.get();
+
+        value.setContent("encrypted2");
+
+        assertEquals(plain("encrypted2"), value.get());
+        assertEquals(2, value.decryptions);
+    }
+
+    @Test
+    public void testDecryptReusesContentDecryptedInStep() {
+        CountingSensitiveValue value = new CountingSensitiveValue("encrypted");
+        decryptedContents = DecryptedContents.open();
+        value.get();
+
+        value.decrypt();
+
+        assertEquals(plain("encrypted"), value.get());
+        assertEquals(1, value.decryptions);
+    }
+
+    private static ArrayList<String> plain(String content) {
+        return new ArrayList<>(Collections.singletonList("plain:" + content));
+    }
+
+    private static class CountingSensitiveValue extends SensitiveValue {
+
+        private int decryptions;
+
+        CountingSensitiveValue(String encryptedContent) {
+            super(encryptedContent, true);
+        }
+
+        @Override
+        protected Serializable decrypt(String content) {
+            decryptions++;
+            return plain(content);
+        }
+    }
+}
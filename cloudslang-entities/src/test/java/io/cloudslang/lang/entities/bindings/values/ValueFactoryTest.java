@@ -11,9 +11,16 @@ package io.cloudslang.lang.entities.bindings.values;
 
 import io.cloudslang.lang.entities.encryption.DummyEncryptor;
 import io.cloudslang.lang.spi.encryption.Encryption;
+import java.util.HashMap;
 import junit.framework.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.python.core.Py;
+import org.python.core.PyException;
+import org.python.core.PyList;
+import org.python.core.PyNone;
+import org.python.core.PyObject;
+import org.python.core.PyString;
 import org.springframework.context.annotation.Bean;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
@@ -42,6 +49,42 @@ public class ValueFactoryTest {
         Assert.assertEquals("value1", pyObjectValue.get());
     }
 
+    @Test
+    public void testPyObjectValueDelegation() {
+        PyObjectValue value = ValueFactory.createPyObjectValue("value1", false);
+        PyObjectValue other = ValueFactory.createPyObjectValue("value1", false);
+        Assert.assertEquals("value1", value.toString());
+        Assert.assertFalse(value.isAccessed());
+        Assert.assertTrue(((PyObject) value).__eq__((PyObject) other).__nonzero__());
+        Assert.assertTrue(value.isAccessed());
+        Assert.assertTrue(other.isAccessed());
+        Assert.assertFalse(value.isSensitive());
+        Assert.assertEquals(6, ((PyObject) value).__len__());
+    }
+
+    @Test
+    public void testPyObjectValueDelegationException() {
+        HashMap<String, String> map = new HashMap<>();
+        map.put("key", "value");
+        PyObject value = (PyObject) ValueFactory.createPyObjectValue(map, false);
+        Assert.assertEquals(new PyString("value"), value.__getitem__(new PyString("key")));
+        try {
+            value.__getitem__(new PyString("missing"));
+            Assert.fail("KeyError expected");
+        } catch (PyException e) {
+            Assert.assertTrue(e.match(Py.KeyError));
+        }
+    }
+
+    @Test
+    public void testPreloadedProxyClass() {
+        PyObjectValueProxyFactory.preloadProxyClasses(new PyList(), Py.None);
+        PyObjectValue value = ValueFactory.createPyObjectValue(new PyList(), false);
+        Assert.assertTrue(value instanceof PyList);
+        Assert.assertEquals(0, ((PyObject) value).__len__());
+        Assert.assertTrue(ValueFactory.createPyObjectValue(null, false) instanceof PyNone);
+    }
+
     static class Config {
 
         @Bean
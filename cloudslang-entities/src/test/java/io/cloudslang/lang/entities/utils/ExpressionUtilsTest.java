@@ -19,6 +19,7 @@ import org.junit.Test;
 
 import static io.cloudslang.lang.entities.utils.ExpressionUtils.extractExpression;
 import static io.cloudslang.lang.entities.utils.ExpressionUtils.extractSystemProperties;
+import static io.cloudslang.lang.entities.utils.ExpressionUtils.extractVariableNames;
 import static io.cloudslang.lang.entities.utils.ExpressionUtils.matchGetFunction;
 
 /**
@@ -203,4 +204,41 @@ public class ExpressionUtilsTest {
         Assert.assertTrue(matchGetFunction("exec(get(get(var, default_expr), default_expr))"));
     }
 
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testExtractVariableNames() throws Exception {
+        Assert.assertEquals(Sets.newHashSet("var1", "var2", "str"),
+                extractVariableNames("var1 + str(var2) + 'var3' + \"var4\""));
+    }
+
+    @Test
+    public void testExtractVariableNamesSkipsAttributesAndLiterals() throws Exception {
+        Assert.assertEquals(Sets.newHashSet("var1", "var2"),
+                extractVariableNames("var1.split(',')[0] + var2 . attr + '''a 'b' c''' + 'd\\'e' # comment"));
+        Assert.assertEquals(Sets.newHashSet("var1"), extractVariableNames("var1 + 10.5e3 + 0x1F"));
+    }
+
+    @Test
+    public void testExtractVariableNamesGetWithLiteralKey() throws Exception {
+        Assert.assertEquals(Sets.newHashSet("get", "var1", "var2", "default_value"),
+                extractVariableNames("get('var1') + get( \"var2\" , default_value)"));
+    }
+
+    @Test
+    public void testExtractVariableNamesDynamic() throws Exception {
+        Assert.assertNull(extractVariableNames("get(var1)"));
+        Assert.assertNull(extractVariableNames("get('var' + '1')"));
+        Assert.assertNull(extractVariableNames("get('''var1''')"));
+        Assert.assertNull(extractVariableNames("locals()['var1']"));
+        Assert.assertNull(extractVariableNames("globals().get('var1')"));
+        Assert.assertNull(extractVariableNames("'%(var1)s' % vars()"));
+        Assert.assertNull(extractVariableNames("__builtins__"));
+    }
+
+    @Test
+    public void testExtractVariableNamesAttributeGet() throws Exception {
+        Assert.assertEquals(Sets.newHashSet("var1", "key"), extractVariableNames("var1.get(key)"));
+    }
 }
@@ -14,6 +14,8 @@ import io.cloudslang.lang.entities.bindings.Argument;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.lang.runtime.bindings.scripts.ScriptEvaluator;
+import io.cloudslang.lang.runtime.env.OverlayMap;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,11 +41,8 @@ public class ArgumentsBinding extends AbstractBinding {
             Set<SystemProperty> systemProperties) {
         Map<String, Value> resultContext = new HashMap<>();
 
-        //we do not want to change original context map
-        Map<String, Value> srcContext = new HashMap<>(context);
-
         for (Argument argument : arguments) {
-            bindArgument(argument, srcContext, systemProperties, resultContext);
+            bindArgument(argument, context, systemProperties, resultContext);
         }
 
         return resultContext;
@@ -64,11 +63,10 @@ public class ArgumentsBinding extends AbstractBinding {
                 Value rawValue = argument.getValue();
                 String expressionToEvaluate = extractExpression(rawValue == null ? null : rawValue.get());
                 if (expressionToEvaluate != null) {
-                    //we do not want to change original context map
-                    Map<String, Value> scriptContext = new HashMap<>(srcContext);
-                    scriptContext.put(inputName, inputValue);
-                    //so you can resolve previous arguments already bound
-                    scriptContext.putAll(targetContext);
+                    //so you can resolve previous arguments already bound,
+                    //the argument itself is defined even if it is not in the context
+                    Map<String, Value> scriptContext = new OverlayMap<>(
+                            Collections.singletonMap(inputName, inputValue), srcContext, targetContext);
                     inputValue = scriptEvaluator.evalExpr(expressionToEvaluate, scriptContext, systemProperties,
                             argument.getFunctionDependencies());
                 } else {
@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parallel loop publish expression that reduces the branches context to a single value,
+ * so it can be computed as each branch finishes instead of over the list of all the branch contexts:
+ * <ul>
+ * <li>str(len(branches_context))</li>
+ * <li>'sep'.join(map(lambda x: x['key'], branches_context)) and the list comprehension and generator forms,
+ * optionally with str(x['key'])</li>
+ * </ul>
+ * The result is the same string the python interpreter returns for the expression.
+ */
+public abstract class BranchesReduction implements Serializable {
+
+    private static final String NAME = "([A-Za-z_]\\w*)";
+    private static final String LITERAL = "('[^'\\\\\\n]*'|\"[^\"\\\\\\n]*\")";
+    private static final String ACCESS = "(str\\(\\s*)?" + NAME + "\\s*\\[\\s*" + LITERAL + "\\s*\\]\\s*(\\))?";
+    private static final String BRANCHES_CONTEXT = "branches_context";
+
+    private static final Pattern COUNT_PATTERN =
+            Pattern.compile("str\\(\\s*len\\(\\s*" + BRANCHES_CONTEXT + "\\s*\\)\\s*\\)");
+    private static final Pattern MAP_JOIN_PATTERN = Pattern.compile(LITERAL + "\\s*\\.\\s*join\\(\\s*map\\(\\s*" +
+            "lambda\\s+" + NAME + "\\s*:\\s*" + ACCESS + "\\s*,\\s*" + BRANCHES_CONTEXT + "\\s*\\)\\s*\\)");
+    private static final Pattern COMPREHENSION_JOIN_PATTERN = Pattern.compile(LITERAL + "\\s*\\.\\s*join\\(\\s*" +
+            "(\\[)?\\s*" + ACCESS + "\\s+for\\s+" + NAME + "\\s+in\\s+" + BRANCHES_CONTEXT + "\\s*(\\])?\\s*\\)");
+
+    private String error;
+
+    /**
+     * @param expression the publish expression, without the ${ } delimiters
+     * @return a new reduction for the expression, or null if it is not a reduction of the branches context
+     */
+    public static BranchesReduction parse(String expression) {
+        String trimmed = expression.trim();
+        if (COUNT_PATTERN.matcher(trimmed).matches()) {
+            return new CountReduction();
+        }
+        Matcher matcher = MAP_JOIN_PATTERN.matcher(trimmed);
+        if (matcher.matches()) {
+            // separator, lambda variable, str(, variable, key, )
+            return createJoinReduction(matcher.group(1), matcher.group(2), matcher.group(3),
+                    matcher.group(4), matcher.group(5), matcher.group(6), true);
+        }
+        matcher = COMPREHENSION_JOIN_PATTERN.matcher(trimmed);
+        if (matcher.matches()) {
+            // separator, [, str(, variable, key, ), loop variable, ]
+            boolean bracketsMatch = (matcher.group(2) == null) == (matcher.group(8) == null);
+            return createJoinReduction(matcher.group(1), matcher.group(7), matcher.group(3),
+                    matcher.group(4), matcher.group(5), matcher.group(6), bracketsMatch);
+        }
+        return null;
+    }
+
+    private static BranchesReduction createJoinReduction(String separator, String loopVariable, String strCall,
+                                                         String variable, String key, String closingParenthesis,
+                                                         boolean bracketsMatch) {
+        boolean valid = bracketsMatch && loopVariable.equals(variable) && !BRANCHES_CONTEXT.equals(variable) &&
+                (strCall == null) == (closingParenthesis == null) && isAscii(separator) && isAscii(key);
+        return valid ? new JoinReduction(unquote(separator), unquote(key), strCall != null) : null;
+    }
+
+    private static boolean isAscii(String literal) {
+        for (int index = 0; index < literal.length(); index++) {
+            char current = literal.charAt(index);
+            if (current < ' ' || current > '~') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String unquote(String literal) {
+        return literal.substring(1, literal.length() - 1);
+    }
+
+    /**
+     * Adds a finished branch to the reduction. An error is kept and reported by {@link #getResult()},
+     * when the publish values are bound.
+     *
+     * @param branchContext the variables of the branch
+     * @param toString      converts values that are not handled in java with the python str() function
+     */
+    public void add(Map<String, Serializable> branchContext, Function<Serializable, String> toString) {
+        if (error != null) {
+            return;
+        }
+        try {
+            doAdd(branchContext, toString);
+        } catch (RuntimeException e) {
+            error = e.getMessage();
+        }
+    }
+
+    /**
+     * @return the value of the publish expression over all the branches added so far
+     */
+    public String getResult() {
+        if (error != null) {
+            throw new RuntimeException(error);
+        }
+        return doGetResult();
+    }
+
+    protected abstract void doAdd(Map<String, Serializable> branchContext, Function<Serializable, String> toString);
+
+    protected abstract String doGetResult();
+
+    private static class CountReduction extends BranchesReduction {
+
+        private int count;
+
+        @Override
+        protected void doAdd(Map<String, Serializable> branchContext, Function<Serializable, String> toString) {
+            count++;
+        }
+
+        @Override
+        protected String doGetResult() {
+            return String.valueOf(count);
+        }
+    }
+
+    private static class JoinReduction extends BranchesReduction {
+
+        private final String separator;
+        private final String key;
+        private final boolean stringify;
+        private final StringBuilder result = new StringBuilder();
+        private int count;
+
+        JoinReduction(String separator, String key, boolean stringify) {
+            this.separator = separator;
+            this.key = key;
+            this.stringify = stringify;
+        }
+
+        @Override
+        protected void doAdd(Map<String, Serializable> branchContext, Function<Serializable, String> toString) {
+            if (!branchContext.containsKey(key)) {
+                throw new RuntimeException("KeyError: '" + key + "'");
+            }
+            Serializable value = branchContext.get(key);
+            String item;
+            if (stringify) {
+                item = str(value, toString);
+            } else if (value instanceof String) {
+                item = (String) value;
+            } else {
+                String type = value == null ? "NoneType" : value.getClass().getSimpleName();
+                throw new RuntimeException("TypeError: sequence item " + count + ": expected string, " +
+                        type + " found");
+            }
+            if (count > 0) {
+                result.append(separator);
+            }
+            result.append(item);
+            count++;
+        }
+
+        @Override
+        protected String doGetResult() {
+            return result.toString();
+        }
+
+        private String str(Serializable value, Function<Serializable, String> toString) {
+            if (value == null) {
+                return "None";
+            } else if (value instanceof String && isAscii((String) value)) {
+                return (String) value;
+            } else if (value instanceof Integer || value instanceof Long) {
+                return value.toString();
+            } else if (value instanceof Boolean) {
+                return (Boolean) value ? "True" : "False";
+            }
+            return toString.apply(value);
+        }
+    }
+}
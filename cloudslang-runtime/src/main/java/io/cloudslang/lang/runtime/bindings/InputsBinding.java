@@ -25,7 +25,7 @@ import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.lang.entities.utils.ExpressionUtils;
 import io.cloudslang.lang.runtime.bindings.scripts.ScriptEvaluator;
-import java.util.HashMap;
+import io.cloudslang.lang.runtime.env.OverlayMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -51,11 +51,8 @@ public class InputsBinding extends AbstractBinding {
                                          Set<SystemProperty> systemProperties) {
         Map<String, Value> resultContext = new LinkedHashMap<>();
 
-        //we do not want to change original context map
-        Map<String, Value> srcContext = new LinkedHashMap<>(context);
-
         for (Input input : inputs) {
-            bindInput(input, srcContext, resultContext, systemProperties);
+            bindInput(input, context, resultContext, systemProperties);
         }
 
         return resultContext;
@@ -87,9 +84,6 @@ public class InputsBinding extends AbstractBinding {
                                Map<String, ? extends Value> targetContext, Set<SystemProperty> systemProperties) {
         Value value = null;
 
-        //we do not want to change original context map
-        Map<String, Value> scriptContext = new HashMap<>(context);
-
         String inputName = input.getName();
         Value valueFromContext = context.get(inputName);
         boolean sensitive = input.getValue() != null && input.getValue().isSensitive() ||
@@ -102,11 +96,8 @@ public class InputsBinding extends AbstractBinding {
             Value rawValue = input.getValue();
             String expressionToEvaluate = ExpressionUtils.extractExpression(rawValue == null ? null : rawValue.get());
             if (expressionToEvaluate != null) {
-                if (context.containsKey(inputName)) {
-                    scriptContext.put(inputName, valueFromContext);
-                }
                 //so you can resolve previous inputs already bound
-                scriptContext.putAll(targetContext);
+                Map<String, Value> scriptContext = new OverlayMap<>(context, targetContext);
                 value = scriptEvaluator.evalExpr(expressionToEvaluate, scriptContext, systemProperties,
                         input.getFunctionDependencies());
                 value = ValueFactory.create(value, sensitive);
@@ -16,8 +16,9 @@ import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.lang.entities.utils.ExpressionUtils;
 import io.cloudslang.lang.entities.utils.MapUtils;
 import io.cloudslang.lang.runtime.bindings.scripts.ScriptEvaluator;
+import io.cloudslang.lang.runtime.env.OverlayMap;
 
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -42,9 +43,20 @@ public class OutputsBinding extends AbstractBinding {
             Map<String, Value> initialContext,
             Set<SystemProperty> systemProperties,
             List<Output> possibleOutputs) {
+        return bindOutputs(initialContext, systemProperties, possibleOutputs, Collections.<String, Value>emptyMap());
+    }
+
+    /**
+     * @param boundOutputs values of outputs that are already bound; they are assigned as they are,
+     *                     without evaluating them as expressions
+     */
+    public Map<String, Value> bindOutputs(
+            Map<String, Value> initialContext,
+            Set<SystemProperty> systemProperties,
+            List<Output> possibleOutputs,
+            Map<String, Value> boundOutputs) {
 
         Map<String, Value> outputs = new LinkedHashMap<>();
-        Map<String, Value> context = new HashMap<>(initialContext);
 
         if (possibleOutputs != null) {
             for (Output output : possibleOutputs) {
@@ -53,9 +65,13 @@ public class OutputsBinding extends AbstractBinding {
                 Value rawValue = output.getValue();
                 Value valueToAssign = rawValue;
                 String expressionToEvaluate = extractExpression(rawValue == null ? null : rawValue.get());
-                if (expressionToEvaluate != null) {
-                    // initialize with null value if key does not exist
-                    context.put(outputKey, context.get(outputKey));
+                if (boundOutputs.containsKey(outputKey)) {
+                    valueToAssign = boundOutputs.get(outputKey);
+                } else if (expressionToEvaluate != null) {
+                    // the output is defined with a null value if the key does not exist,
+                    // and the outputs already bound shadow the initial context
+                    Map<String, Value> context = new OverlayMap<>(
+                            Collections.singletonMap(outputKey, (Value) null), initialContext, outputs);
                     try {
                         //evaluate expression
                         Value value = scriptEvaluator.evalExpr(expressionToEvaluate, context,
@@ -67,7 +83,6 @@ public class OutputsBinding extends AbstractBinding {
                 }
                 validateStringValue(errorMessagePrefix, valueToAssign);
                 outputs.put(outputKey, valueToAssign);
-                context.put(outputKey, valueToAssign);
             }
         }
         return outputs;
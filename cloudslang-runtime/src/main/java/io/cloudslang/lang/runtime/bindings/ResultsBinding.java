@@ -16,9 +16,9 @@ import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.Result;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.utils.ExpressionUtils;
-import io.cloudslang.lang.entities.utils.MapUtils;
 import io.cloudslang.lang.entities.utils.ResultUtils;
 import io.cloudslang.lang.runtime.bindings.scripts.ScriptEvaluator;
+import io.cloudslang.lang.runtime.env.OverlayMap;
 import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
@@ -79,6 +79,8 @@ public class ResultsBinding {
                     " that was calculated in the last step is not a possible result of the flow.");
         }
 
+        Map<String, Value> scriptContext = new OverlayMap<>(inputs, context);
+
         // In the case of operation, we resolve the result by searching for the first result with a true expression
         // An empty expression passes as true
         for (Result result : possibleResults) {
@@ -98,8 +100,6 @@ public class ResultsBinding {
                                     " expression " + ScoreLangConstants.EXPRESSION_END_DELIMITER);
                 }
 
-                Map<String, Value> scriptContext = MapUtils.mergeMaps(inputs, context);
-
                 try {
                     Value expressionResult = scriptEvaluator.evalExpr(expression, scriptContext, systemProperties,
                             result.getFunctionDependencies());
@@ -9,11 +9,17 @@
  *******************************************************************************/
 package io.cloudslang.lang.runtime.bindings.scripts;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Sets;
 import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.ScriptFunction;
 import io.cloudslang.lang.entities.bindings.values.PyObjectValue;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import io.cloudslang.lang.entities.utils.ExpressionUtils;
 import io.cloudslang.runtime.api.python.PythonEvaluationResult;
 import io.cloudslang.runtime.api.python.PythonRuntimeService;
 import org.apache.commons.lang3.StringUtils;
@@ -26,7 +32,10 @@ import java.io.Serializable;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * @author stoneo
@@ -50,20 +59,46 @@ public class ScriptEvaluator extends ScriptProcessor {
                     "  return default_value if value_to_check is None else value_to_check";
 
     public static final int MAX_LENGTH = Integer.getInteger("input.error.max.length", 1000);
+    public static final int EXPRESSION_CACHE_SIZE = Integer.getInteger("expression.cache.max.size", 10000);
 
     @Autowired
     private PythonRuntimeService pythonRuntimeService;
 
+    private final ConcurrentMap<Set<ScriptFunction>, String> functionsScripts = new ConcurrentHashMap<>();
+
+    private final LoadingCache<ExpressionKey, PreparedExpression> expressionCache = CacheBuilder.newBuilder()
+            .maximumSize(EXPRESSION_CACHE_SIZE)
+            .concurrencyLevel(2 * Runtime.getRuntime().availableProcessors())
+            .recordStats()
+            .build(new CacheLoader<ExpressionKey, PreparedExpression>() {
+                @Override
+                public PreparedExpression load(ExpressionKey key) {
+                    return new PreparedExpression(key.expression, getFunctionsScript(key.functionDependencies),
+                            key.functionDependencies.contains(ScriptFunction.GET_SYSTEM_PROPERTY),
+                            ExpressionUtils.extractVariableNames(key.expression),
+                            SimpleExpressionParser.parse(key.expression, key.functionDependencies));
+                }
+            });
+
     public Value evalExpr(String expr, Map<String, Value> context, Set<SystemProperty> systemProperties,
                           Set<ScriptFunction> functionDependencies) {
         try {
-            Map<String, Serializable> pythonContext = createPythonContext(context);
-            boolean systemPropertiesDefined = functionDependencies.contains(ScriptFunction.GET_SYSTEM_PROPERTY);
+            PreparedExpression preparedExpression = expressionCache
+                    .getUnchecked(new ExpressionKey(expr, functionDependencies));
+            if (preparedExpression.simpleExpression != null) {
+                Value value = preparedExpression.simpleExpression.evaluate(context);
+                if (value != null) {
+                    return value;
+                }
+            }
+            Map<String, Serializable> pythonContext =
+                    createPythonContext(context, preparedExpression.variableNames);
+            boolean systemPropertiesDefined = preparedExpression.systemPropertiesDefined;
             if (systemPropertiesDefined) {
                 pythonContext.put(SYSTEM_PROPERTIES_MAP, (Serializable) prepareSystemProperties(systemProperties));
             }
             PythonEvaluationResult result = pythonRuntimeService.eval(
-                    buildAddFunctionsScript(functionDependencies), expr, pythonContext);
+                    preparedExpression.functionsScript, preparedExpression.expression, pythonContext);
             if (systemPropertiesDefined) {
                 pythonContext.remove(SYSTEM_PROPERTIES_MAP);
             }
@@ -77,10 +112,30 @@ public class ScriptEvaluator extends ScriptProcessor {
         }
     }
 
+    /**
+     * @return hit, miss and eviction counters of the prepared expressions cache
+     */
+    public CacheStats getExpressionCacheStats() {
+        return expressionCache.stats();
+    }
+
+    public void invalidateExpressionCache() {
+        expressionCache.invalidateAll();
+    }
+
     private String getTruncatedExpression(String expr) {
         return expr.length() > MAX_LENGTH ? expr.substring(0, MAX_LENGTH) + "..." : expr;
     }
 
+    private String getFunctionsScript(Set<ScriptFunction> functionDependencies) {
+        String functionsScript = functionsScripts.get(functionDependencies);
+        if (functionsScript == null) {
+            functionsScript = buildAddFunctionsScript(functionDependencies);
+            functionsScripts.putIfAbsent(functionDependencies, functionsScript);
+        }
+        return functionsScript;
+    }
+
     private String buildAddFunctionsScript(Set<ScriptFunction> functionDependencies) {
         String functions = "";
         for (ScriptFunction function : functionDependencies) {
@@ -152,4 +207,58 @@ public class ScriptEvaluator extends ScriptProcessor {
         }
         return false;
     }
+
+    private static class ExpressionKey {
+
+        private final String expression;
+        private final Set<ScriptFunction> functionDependencies;
+
+        ExpressionKey(String expression, Set<ScriptFunction> functionDependencies) {
+            this.expression = expression;
+            this.functionDependencies = Sets.immutableEnumSet(functionDependencies);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ExpressionKey that = (ExpressionKey) o;
+            return Objects.equals(expression, that.expression) &&
+                    functionDependencies.equals(that.functionDependencies);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(expression, functionDependencies);
+        }
+    }
+
+    /**
+     * Evaluation unit handed to the python runtime: the expression together with the
+     * functions prelude of its dependency set, built once and shared by all evaluations.
+     * Only the variables the expression reads are handed to the runtime, unless they can not be
+     * determined statically. Simple expressions also keep their java form, which is tried
+     * before the python runtime.
+     */
+    private static class PreparedExpression {
+
+        private final String expression;
+        private final String functionsScript;
+        private final boolean systemPropertiesDefined;
+        private final Set<String> variableNames;
+        private final SimpleExpression simpleExpression;
+
+        PreparedExpression(String expression, String functionsScript, boolean systemPropertiesDefined,
+                           Set<String> variableNames, SimpleExpression simpleExpression) {
+            this.expression = expression;
+            this.functionsScript = functionsScript;
+            this.systemPropertiesDefined = systemPropertiesDefined;
+            this.variableNames = variableNames;
+            this.simpleExpression = simpleExpression;
+        }
+    }
 }
@@ -12,6 +12,8 @@ package io.cloudslang.lang.runtime.bindings.scripts;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.runtime.api.python.PythonRuntimeService;
+import javax.annotation.PostConstruct;
+import org.apache.log4j.Logger;
 import org.python.core.PyList;
 import org.python.core.PyObject;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,15 +26,45 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
+import static io.cloudslang.lang.entities.properties.SlangSystemPropertyConstant.CSLANG_PYTHON_WARMUP_ENABLED;
+
 /**
  * @author Bonczidai Levente
  * @since 1/19/2016
  */
 @Component
 public class ScriptExecutor extends ScriptProcessor {
+
+    private static final Logger logger = Logger.getLogger(ScriptExecutor.class);
+
     @Autowired
     private PythonRuntimeService pythonRuntimeService;
 
+    /**
+     * The first python_action of a process pays for bootstrapping Jython (its system state, modules and compiler),
+     * which takes far longer than a short action. When enabled, this is done in the background at startup.
+     * The interpreters themselves are created and reused by the python runtime service.
+     */
+    @PostConstruct
+    public void warmUp() {
+        if (!Boolean.getBoolean(CSLANG_PYTHON_WARMUP_ENABLED.getValue())) {
+            return;
+        }
+        Thread warmUpThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    pythonRuntimeService.exec(Collections.<String>emptySet(), "pass",
+                            new HashMap<String, Serializable>());
+                } catch (RuntimeException ex) {
+                    logger.debug("Failed to warm up the python runtime", ex);
+                }
+            }
+        }, "python-runtime-warmup");
+        warmUpThread.setDaemon(true);
+        warmUpThread.start();
+    }
+
     public Map<String, Value> executeScript(String script, Map<String, Value> callArguments) {
         return executeScript(Collections.<String>emptySet(), script, callArguments);
     }
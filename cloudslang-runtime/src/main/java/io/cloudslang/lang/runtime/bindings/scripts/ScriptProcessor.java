@@ -14,6 +14,7 @@ import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Script processor
@@ -29,4 +30,20 @@ public abstract class ScriptProcessor {
         }
         return pythonContext;
     }
+
+    /**
+     * @param variableNames the names the script reads, or null if the whole context has to be visible
+     */
+    protected Map<String, Serializable> createPythonContext(Map<String, Value> context, Set<String> variableNames) {
+        if (variableNames == null) {
+            return createPythonContext(context);
+        }
+        Map<String, Serializable> pythonContext = new HashMap<>();
+        for (String name : variableNames) {
+            if (context.containsKey(name)) {
+                pythonContext.put(name, ValueFactory.createPyObjectValue(context.get(name)));
+            }
+        }
+        return pythonContext;
+    }
 }
@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings.scripts;
+
+import io.cloudslang.lang.entities.bindings.values.Value;
+import java.util.Map;
+
+/**
+ * Expression that can be evaluated directly in java, without going through the python interpreter
+ *
+ * @see SimpleExpressionParser
+ */
+public interface SimpleExpression {
+
+    /**
+     * Evaluates the expression against the given context.
+     * The result is sensitive if a sensitive value from the context was accessed during the evaluation.
+     *
+     * @param context the variables visible to the expression
+     * @return the evaluation result, or null if the operands found in the context can not be handled in java
+     *         and the expression must be evaluated by the python interpreter instead
+     */
+    Value evaluate(Map<String, Value> context);
+}
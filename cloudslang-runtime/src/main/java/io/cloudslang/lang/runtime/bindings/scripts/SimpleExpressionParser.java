@@ -0,0 +1,424 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings.scripts;
+
+import io.cloudslang.lang.entities.bindings.ScriptFunction;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.python.core.Py;
+
+/**
+ * Classifies expressions that are simple enough to be evaluated in java:
+ * variable access, get('key', default) with a literal key, string and integer literals,
+ * True / False / None, string concatenation and a single == or != comparison.
+ * <p>
+ * The results mirror what the python interpreter returns for the same expression,
+ * every other expression is left to the interpreter.
+ */
+public final class SimpleExpressionParser {
+
+    private static final Set<String> PYTHON_KEYWORDS = new HashSet<>(Arrays.asList(
+            "and", "as", "assert", "break", "class", "continue", "def", "del", "elif", "else", "except", "exec",
+            "finally", "for", "from", "global", "if", "import", "in", "is", "lambda", "not", "or", "pass", "print",
+            "raise", "return", "try", "while", "with", "yield"));
+
+    // names defined in the interpreter namespace next to the context variables
+    private static final Set<String> RESERVED_NAMES = new HashSet<>(Arrays.asList(
+            "get", "get_sp", "check_empty", "sys_prop", "true", "false"));
+
+    private static final String GET_FUNCTION = "get";
+
+    private static final Serializable UNSUPPORTED = new Serializable() {
+    };
+
+    private SimpleExpressionParser() {
+    }
+
+    /**
+     * @param expression           the expression, without the ${ } delimiters
+     * @param functionDependencies the functions available to the expression
+     * @return the parsed expression, or null if it has to be evaluated by the python interpreter
+     */
+    public static SimpleExpression parse(String expression, Set<ScriptFunction> functionDependencies) {
+        if (expression == null) {
+            return null;
+        }
+        Parser parser = new Parser(expression, functionDependencies.contains(ScriptFunction.GET));
+        Node node = parser.parseComparison();
+        return node != null && parser.atEnd() ? new ParsedExpression(node) : null;
+    }
+
+    private static boolean isReservedName(String name) {
+        return RESERVED_NAMES.contains(name) || name.startsWith("__");
+    }
+
+    private static class ParsedExpression implements SimpleExpression {
+
+        private final Node root;
+
+        ParsedExpression(Node root) {
+            this.root = root;
+        }
+
+        @Override
+        public Value evaluate(Map<String, Value> context) {
+            Evaluation evaluation = new Evaluation(context);
+            Serializable result = root.evaluate(evaluation);
+            if (result == UNSUPPORTED) {
+                return null;
+            }
+            return ValueFactory.create(toJava(result), evaluation.sensitive);
+        }
+
+        /**
+         * Converts the result the same way the interpreter converts the PyObject an evaluation returns
+         */
+        private Serializable toJava(Serializable result) {
+            if (result == null || result instanceof String || result instanceof Integer) {
+                return result;
+            } else if (result instanceof Boolean) {
+                return (Boolean) result ? 1 : 0;
+            } else {
+                return (Serializable) Py.java2py(result).__tojava__(Serializable.class);
+            }
+        }
+    }
+
+    private static class Evaluation {
+
+        private final Map<String, Value> context;
+        private boolean sensitive;
+
+        Evaluation(Map<String, Value> context) {
+            this.context = context;
+        }
+
+        Serializable access(String name) {
+            Value value = context.get(name);
+            if (value == null) {
+                return null;
+            }
+            sensitive = sensitive || value.isSensitive();
+            return value.get();
+        }
+    }
+
+    private interface Node {
+        Serializable evaluate(Evaluation evaluation);
+    }
+
+    private static class LiteralNode implements Node {
+
+        private final Serializable literal;
+
+        LiteralNode(Serializable literal) {
+            this.literal = literal;
+        }
+
+        @Override
+        public Serializable evaluate(Evaluation evaluation) {
+            return literal;
+        }
+    }
+
+    /**
+     * True, False and None - left to the interpreter when shadowed by a variable
+     */
+    private static class ConstantNode implements Node {
+
+        private final String name;
+        private final Serializable constant;
+
+        ConstantNode(String name, Serializable constant) {
+            this.name = name;
+            this.constant = constant;
+        }
+
+        @Override
+        public Serializable evaluate(Evaluation evaluation) {
+            return evaluation.context.containsKey(name) ? UNSUPPORTED : constant;
+        }
+    }
+
+    private static class VariableNode implements Node {
+
+        private final String name;
+
+        VariableNode(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Serializable evaluate(Evaluation evaluation) {
+            // unknown names are left to the interpreter, for builtins or for its error message
+            return evaluation.context.containsKey(name) && !isReservedName(name) ?
+                    evaluation.access(name) : UNSUPPORTED;
+        }
+    }
+
+    private static class GetNode implements Node {
+
+        private final String key;
+        private final Node defaultValue;
+
+        GetNode(String key, Node defaultValue) {
+            this.key = key;
+            this.defaultValue = defaultValue;
+        }
+
+        @Override
+        public Serializable evaluate(Evaluation evaluation) {
+            if (evaluation.context.containsKey(key)) {
+                Serializable value = evaluation.access(key);
+                if (value != null) {
+                    return value;
+                }
+            }
+            return defaultValue == null ? null : defaultValue.evaluate(evaluation);
+        }
+    }
+
+    private static class ConcatenationNode implements Node {
+
+        private final List<Node> operands;
+
+        ConcatenationNode(List<Node> operands) {
+            this.operands = operands;
+        }
+
+        @Override
+        public Serializable evaluate(Evaluation evaluation) {
+            StringBuilder result = new StringBuilder();
+            for (Node operand : operands) {
+                Serializable value = operand.evaluate(evaluation);
+                if (!(value instanceof String)) {
+                    return UNSUPPORTED;
+                }
+                result.append((String) value);
+            }
+            return result.toString();
+        }
+    }
+
+    private static class EqualityNode implements Node {
+
+        private final Node left;
+        private final Node right;
+        private final boolean negated;
+
+        EqualityNode(Node left, Node right, boolean negated) {
+            this.left = left;
+            this.right = right;
+            this.negated = negated;
+        }
+
+        @Override
+        public Serializable evaluate(Evaluation evaluation) {
+            Serializable leftValue = left.evaluate(evaluation);
+            Serializable rightValue = right.evaluate(evaluation);
+            if (!isComparable(leftValue) || !isComparable(rightValue)) {
+                return UNSUPPORTED;
+            }
+            return Objects.equals(leftValue, rightValue) != negated;
+        }
+
+        // types whose python equality matches java equality
+        private boolean isComparable(Serializable value) {
+            return value == null || value instanceof String || value instanceof Integer;
+        }
+    }
+
+    private static class Parser {
+
+        private final String text;
+        private final boolean getDefined;
+        private int position;
+
+        Parser(String text, boolean getDefined) {
+            this.text = text;
+            this.getDefined = getDefined;
+        }
+
+        boolean atEnd() {
+            skipWhitespaces();
+            return position == text.length();
+        }
+
+        Node parseComparison() {
+            Node left = parseConcatenation();
+            if (left == null) {
+                return null;
+            }
+            boolean negated;
+            if (consume("==")) {
+                negated = false;
+            } else if (consume("!=")) {
+                negated = true;
+            } else {
+                return left;
+            }
+            Node right = parseConcatenation();
+            return right == null ? null : new EqualityNode(left, right, negated);
+        }
+
+        private Node parseConcatenation() {
+            Node first = parsePrimary();
+            if (first == null) {
+                return null;
+            }
+            List<Node> operands = new ArrayList<>();
+            operands.add(first);
+            while (consume("+")) {
+                Node operand = parsePrimary();
+                if (operand == null) {
+                    return null;
+                }
+                operands.add(operand);
+            }
+            return operands.size() == 1 ? first : new ConcatenationNode(operands);
+        }
+
+        private Node parsePrimary() {
+            skipWhitespaces();
+            if (position == text.length()) {
+                return null;
+            }
+            char current = text.charAt(position);
+            if (current == '\'' || current == '"') {
+                String literal = parseString();
+                return literal == null ? null : new LiteralNode(literal);
+            } else if (Character.isDigit(current)) {
+                return parseInteger();
+            } else if (isNameStart(current)) {
+                return parseName();
+            }
+            return null;
+        }
+
+        private Node parseName() {
+            int start = position;
+            while (position < text.length() && isNamePart(text.charAt(position))) {
+                position++;
+            }
+            String name = text.substring(start, position);
+            switch (name) {
+                case "None":
+                    return new ConstantNode(name, null);
+                case "True":
+                    return new ConstantNode(name, Boolean.TRUE);
+                case "False":
+                    return new ConstantNode(name, Boolean.FALSE);
+                default:
+                    break;
+            }
+            if (PYTHON_KEYWORDS.contains(name)) {
+                return null;
+            }
+            skipWhitespaces();
+            boolean call = position < text.length() && text.charAt(position) == '(';
+            if (!call) {
+                return new VariableNode(name);
+            }
+            return getDefined && GET_FUNCTION.equals(name) ? parseGetCall() : null;
+        }
+
+        private Node parseGetCall() {
+            consume("(");
+            skipWhitespaces();
+            String key = parseString();
+            if (key == null || isReservedName(key)) {
+                return null;
+            }
+            Node defaultValue = null;
+            if (consume(",")) {
+                defaultValue = parseComparison();
+                if (defaultValue == null) {
+                    return null;
+                }
+            }
+            return consume(")") ? new GetNode(key, defaultValue) : null;
+        }
+
+        private Node parseInteger() {
+            int start = position;
+            while (position < text.length() && Character.isDigit(text.charAt(position))) {
+                position++;
+            }
+            String digits = text.substring(start, position);
+            boolean followedByName = position < text.length() && isNamePart(text.charAt(position));
+            // octal literals, longs (10L), floats and numbers out of the int range are left to the interpreter
+            if (followedByName || (digits.length() > 1 && digits.charAt(0) == '0') || digits.length() > 9 ||
+                    (position < text.length() && text.charAt(position) == '.')) {
+                return null;
+            }
+            return new LiteralNode(Integer.valueOf(digits));
+        }
+
+        /**
+         * Plain single line ascii literals only - escape sequences, triple quotes
+         * and non ascii characters are left to the interpreter
+         */
+        private String parseString() {
+            if (position == text.length()) {
+                return null;
+            }
+            char quote = text.charAt(position);
+            if (quote != '\'' && quote != '"') {
+                return null;
+            }
+            int start = ++position;
+            while (position < text.length()) {
+                char current = text.charAt(position);
+                if (current == quote) {
+                    String literal = text.substring(start, position++);
+                    boolean tripleQuote = literal.isEmpty() && position < text.length() &&
+                            text.charAt(position) == quote;
+                    return tripleQuote ? null : literal;
+                } else if (current == '\\' || current < ' ' || current > '~') {
+                    return null;
+                }
+                position++;
+            }
+            return null;
+        }
+
+        private boolean consume(String token) {
+            skipWhitespaces();
+            if (text.startsWith(token, position)) {
+                position += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        private void skipWhitespaces() {
+            while (position < text.length() && (text.charAt(position) == ' ' || text.charAt(position) == '\t')) {
+                position++;
+            }
+        }
+
+        private boolean isNameStart(char character) {
+            return character == '_' || (character >= 'a' && character <= 'z') ||
+                    (character >= 'A' && character <= 'Z');
+        }
+
+        private boolean isNamePart(char character) {
+            return isNameStart(character) || (character >= '0' && character <= '9');
+        }
+    }
+}
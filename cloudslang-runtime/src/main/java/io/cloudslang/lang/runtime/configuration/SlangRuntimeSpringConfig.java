@@ -10,12 +10,19 @@
 package io.cloudslang.lang.runtime.configuration;
 
 
+import io.cloudslang.lang.entities.bindings.values.PyObjectValueProxyFactory;
 import io.cloudslang.lang.entities.properties.SlangSystemPropertyConstant;
 import io.cloudslang.runtime.impl.RuntimeManagementConfiguration;
 import java.nio.charset.StandardCharsets;
+import javax.annotation.PostConstruct;
 import org.apache.commons.lang3.StringUtils;
 import org.python.core.Options;
+import org.python.core.Py;
+import org.python.core.PyDictionary;
+import org.python.core.PyList;
+import org.python.core.PyString;
 import org.python.core.PySystemState;
+import org.python.core.PyUnicode;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -37,4 +44,13 @@ public class SlangRuntimeSpringConfig {
         }
         System.getProperties().setProperty(PySystemState.PYTHON_IO_ENCODING, encodingValue);
     }
+
+    /**
+     * Creates the value proxy classes of the common python types at startup instead of during the first executions
+     */
+    @PostConstruct
+    public void preloadPyObjectValueProxyClasses() {
+        PyObjectValueProxyFactory.preloadProxyClasses(new PyString(""), new PyUnicode(""), Py.newInteger(0),
+                new PyList(), new PyDictionary(), Py.True, Py.None);
+    }
 }
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.entities.bindings.Output;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import io.cloudslang.lang.entities.utils.ExpressionUtils;
+import io.cloudslang.lang.runtime.RuntimeConstants;
+import io.cloudslang.lang.runtime.bindings.BranchesReduction;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Results of the finished branches of a parallel loop, as needed by the publish values of the step.
+ * <p>
+ * When the publish values contain {@link BranchesReduction}s and no other publish expression reads
+ * the branches context, the branches are reduced as they are added and their contexts are not kept.
+ * Otherwise the contexts of all the branches are kept for the branches_context publish variable.
+ */
+public class BranchesAggregation implements Serializable {
+
+    // names read by the reductions - an output with the same name shadows them for the following outputs
+    private static final Set<String> REDUCTION_NAMES = new HashSet<>(Arrays.asList("str", "len", "map",
+            RuntimeConstants.BRANCHES_CONTEXT_KEY));
+
+    private final Map<String, BranchesReduction> reductions;
+    private final List<Map<String, Serializable>> branchesContext;
+    private boolean failed;
+
+    public BranchesAggregation(List<Output> stepPublishValues) {
+        this.reductions = createReductions(stepPublishValues);
+        this.branchesContext = reductions == null ? new ArrayList<Map<String, Serializable>>() : null;
+    }
+
+    private static Map<String, BranchesReduction> createReductions(List<Output> stepPublishValues) {
+        Map<String, BranchesReduction> reductions = new LinkedHashMap<>();
+        if (stepPublishValues == null) {
+            return null;
+        }
+        Set<String> outputNames = new HashSet<>();
+        for (Output output : stepPublishValues) {
+            if (REDUCTION_NAMES.contains(output.getName()) || !outputNames.add(output.getName())) {
+                return null;
+            }
+            Value rawValue = output.getValue();
+            String expression = ExpressionUtils.extractExpression(rawValue == null ? null : rawValue.get());
+            if (expression != null) {
+                BranchesReduction reduction = BranchesReduction.parse(expression);
+                if (reduction != null) {
+                    reductions.put(output.getName(), reduction);
+                } else if (readsBranchesContext(expression)) {
+                    return null;
+                }
+            }
+        }
+        return reductions.isEmpty() ? null : reductions;
+    }
+
+    private static boolean readsBranchesContext(String expression) {
+        Set<String> variableNames = ExpressionUtils.extractVariableNames(expression);
+        return variableNames == null || variableNames.contains(RuntimeConstants.BRANCHES_CONTEXT_KEY);
+    }
+
+    /**
+     * @param branchContext the variables of the finished branch, with its result under
+     *                      {@link ScoreLangConstants#BRANCH_RESULT_KEY}
+     * @param toString      converts values that are not handled in java with the python str() function
+     */
+    public void addBranch(Map<String, Serializable> branchContext, Function<Serializable, String> toString) {
+        String branchResult = (String) branchContext.get(ScoreLangConstants.BRANCH_RESULT_KEY);
+        failed = failed || branchResult.equals(ScoreLangConstants.FAILURE_RESULT);
+        if (reductions == null) {
+            branchesContext.add(branchContext);
+        } else {
+            for (BranchesReduction reduction : reductions.values()) {
+                reduction.add(branchContext, toString);
+            }
+        }
+    }
+
+    /**
+     * @return FAILURE if one of the branches failed, SUCCESS otherwise
+     */
+    public String getParallelLoopResult() {
+        return failed ? ScoreLangConstants.FAILURE_RESULT : ScoreLangConstants.SUCCESS_RESULT;
+    }
+
+    /**
+     * @return the variables available to the publish expressions
+     */
+    public Map<String, Value> getPublishContext() {
+        Map<String, Value> publishContext = new HashMap<>();
+        if (branchesContext != null) {
+            publishContext.put(RuntimeConstants.BRANCHES_CONTEXT_KEY,
+                    ValueFactory.create((Serializable) branchesContext));
+        }
+        return publishContext;
+    }
+
+    /**
+     * @param stepPublishValues the publish values of the step
+     * @return the bound values of the publish values computed by reductions, which are not evaluated again
+     */
+    public Map<String, Value> getReducedPublishValues(List<Output> stepPublishValues) {
+        Map<String, Value> reducedPublishValues = new HashMap<>();
+        if (stepPublishValues == null || reductions == null) {
+            return reducedPublishValues;
+        }
+        for (Output output : stepPublishValues) {
+            BranchesReduction reduction = reductions.get(output.getName());
+            if (reduction != null) {
+                String result;
+                try {
+                    result = reduction.getResult();
+                } catch (RuntimeException e) {
+                    throw new RuntimeException("Error binding output: '" + output.getName() +
+                            "',\n\tError is: " + e.getMessage(), e);
+                }
+                reducedPublishValues.put(output.getName(), ValueFactory.create(result,
+                        output.getValue().isSensitive()));
+            }
+        }
+        return reducedPublishValues;
+    }
+}
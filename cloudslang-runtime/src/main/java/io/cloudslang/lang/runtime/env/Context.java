@@ -10,21 +10,86 @@
 package io.cloudslang.lang.runtime.env;
 
 import io.cloudslang.lang.entities.bindings.values.Value;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import org.apache.commons.lang.SerializationUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 public class Context implements Serializable {
 
-    private final Map<String, Value> variables;
-    private final Map<String, Value> langVariables;
+    private Map<String, Value> variables;
+    private Map<String, Value> langVariables;
+
+    // Names of the variables holding sensitive values, kept up to date as variables are put and removed
+    private transient Set<String> sensitiveVariables;
+    private transient Set<String> sensitiveLangVariables;
 
     public Context(Map<String, Value> variables) {
         this.variables = variables;
         langVariables = new HashMap<>();
+        sensitiveVariables = findSensitiveNames(variables);
+        sensitiveLangVariables = new HashSet<>();
+    }
+
+    private Context(Map<String, Value> variables, Map<String, Value> langVariables,
+                    Set<String> sensitiveVariables, Set<String> sensitiveLangVariables) {
+        this.variables = variables;
+        this.langVariables = langVariables;
+        this.sensitiveVariables = sensitiveVariables;
+        this.sensitiveLangVariables = sensitiveLangVariables;
+    }
+
+    /**
+     * Creates a copy of the context in O(1): both contexts share the current variables and
+     * keep only their own changes. Sensitive values, which are encrypted and decrypted in place,
+     * are copied so that each context has its own.
+     *
+     * @return the copy
+     */
+    public Context fork() {
+        variables = LayeredMap.fork(variables);
+        langVariables = LayeredMap.fork(langVariables);
+        Context forkedContext = new Context(LayeredMap.fork(variables), LayeredMap.fork(langVariables),
+                new HashSet<>(sensitiveVariables), new HashSet<>(sensitiveLangVariables));
+        copySensitiveValues(forkedContext.variables, sensitiveVariables);
+        copySensitiveValues(forkedContext.langVariables, sensitiveLangVariables);
+        return forkedContext;
+    }
+
+    private void copySensitiveValues(Map<String, Value> map, Set<String> sensitiveNames) {
+        for (String name : sensitiveNames) {
+            map.put(name, (Value) SerializationUtils.clone(map.get(name)));
+        }
+    }
+
+    /**
+     * @return whether any variable or language variable holds a sensitive value
+     */
+    public boolean containsSensitiveData() {
+        return !sensitiveVariables.isEmpty() || !sensitiveLangVariables.isEmpty();
+    }
+
+    /**
+     * @return the sensitive values of the variables and language variables, found without scanning the context
+     */
+    public List<Value> getSensitiveValues() {
+        List<Value> sensitiveValues = new ArrayList<>(sensitiveVariables.size() + sensitiveLangVariables.size());
+        for (String name : sensitiveVariables) {
+            sensitiveValues.add(variables.get(name));
+        }
+        for (String name : sensitiveLangVariables) {
+            sensitiveValues.add(langVariables.get(name));
+        }
+        return sensitiveValues;
     }
 
     public Value getVariable(String name) {
@@ -33,10 +98,14 @@ public class Context implements Serializable {
 
     public void putVariable(String name, Value value) {
         variables.put(name, value);
+        updateSensitiveName(sensitiveVariables, name, value);
     }
 
     public void putVariables(Map<String, ? extends Value> newVariables) {
         variables.putAll(newVariables);
+        for (Map.Entry<String, ? extends Value> entry : newVariables.entrySet()) {
+            updateSensitiveName(sensitiveVariables, entry.getKey(), entry.getValue());
+        }
     }
 
     public Map<String, Value> getImmutableViewOfLanguageVariables() {
@@ -49,6 +118,7 @@ public class Context implements Serializable {
 
     public void putLanguageVariable(String name, Value value) {
         langVariables.put(name, value);
+        updateSensitiveName(sensitiveLangVariables, name, value);
     }
 
     public Map<String, Value> getImmutableViewOfVariables() {
@@ -56,9 +126,32 @@ public class Context implements Serializable {
     }
 
     public Value removeLanguageVariable(String key) {
+        sensitiveLangVariables.remove(key);
         return langVariables.remove(key);
     }
 
+    private static Set<String> findSensitiveNames(Map<String, Value> map) {
+        Set<String> sensitiveNames = new HashSet<>();
+        for (Map.Entry<String, Value> entry : map.entrySet()) {
+            updateSensitiveName(sensitiveNames, entry.getKey(), entry.getValue());
+        }
+        return sensitiveNames;
+    }
+
+    private static void updateSensitiveName(Set<String> sensitiveNames, String name, Value value) {
+        if (value != null && value.isSensitive()) {
+            sensitiveNames.add(name);
+        } else {
+            sensitiveNames.remove(name);
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        sensitiveVariables = findSensitiveNames(variables);
+        sensitiveLangVariables = findSensitiveNames(langVariables);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
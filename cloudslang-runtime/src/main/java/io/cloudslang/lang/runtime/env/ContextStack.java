@@ -9,7 +9,9 @@
  *******************************************************************************/
 package io.cloudslang.lang.runtime.env;
 
+import io.cloudslang.lang.entities.bindings.values.Value;
 import java.io.Serializable;
+import java.util.List;
 import java.util.Stack;
 
 /**
@@ -32,4 +34,19 @@ public class ContextStack implements Serializable {
         return stack.pop();
     }
 
+    public boolean containsSensitiveData() {
+        for (Context context : stack) {
+            if (context.containsSensitiveData()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void addSensitiveValues(List<Value> values) {
+        for (Context context : stack) {
+            values.addAll(context.getSensitiveValues());
+        }
+    }
+
 }
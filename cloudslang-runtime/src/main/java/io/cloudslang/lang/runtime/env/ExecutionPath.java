@@ -31,6 +31,11 @@ public class ExecutionPath implements Serializable {
         parentPositions = new ArrayDeque<>();
     }
 
+    public ExecutionPath(ExecutionPath executionPath) {
+        parentPositions = new ArrayDeque<>(executionPath.parentPositions);
+        position = executionPath.position;
+    }
+
     public void forward() {
         position++;
     }
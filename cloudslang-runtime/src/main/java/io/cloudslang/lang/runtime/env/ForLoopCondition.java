@@ -12,29 +12,55 @@ package io.cloudslang.lang.runtime.env;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import java.io.Serializable;
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 public class ForLoopCondition implements LoopCondition {
 
+    // kept from the previous form of the class, so loop conditions persisted by it can still be resumed
+    private static final long serialVersionUID = -2974335212434204529L;
+
     private final Iterable<? extends Serializable> iterable;
     private int index = 0;
+    private transient List<? extends Serializable> items;
 
     public ForLoopCondition(Iterable<? extends Serializable> iterable) {
-        this.iterable = iterable;
+        this.iterable = isRandomAccessList(iterable) ? iterable : toList(iterable);
+    }
+
+    private static boolean isRandomAccessList(Iterable<? extends Serializable> iterable) {
+        return iterable instanceof List && iterable instanceof RandomAccess && iterable instanceof Serializable;
     }
 
-    private Iterator<? extends Serializable> loopToCurrentObject() {
-        Iterator<? extends Serializable> iterator = iterable.iterator();
-        for (int i = 0; i < index; i++) {
-            iterator.next();
+    private static <T extends Serializable> ArrayList<T> toList(Iterable<T> iterable) {
+        ArrayList<T> list = new ArrayList<>();
+        for (T item : iterable) {
+            list.add(item);
         }
-        return iterator;
+        return list;
+    }
+
+    /**
+     * @return the loop items, with random access - the iterable is only copied
+     *         when it was persisted by the previous form of the class
+     */
+    private List<? extends Serializable> getItems() {
+        if (items == null) {
+            items = iterable instanceof List && iterable instanceof RandomAccess ?
+                    (List<? extends Serializable>) iterable : toList(iterable);
+        }
+        return items;
     }
 
     public Value next() {
-        Serializable serializable = loopToCurrentObject().next();
+        if (!hasMore()) {
+            throw new NoSuchElementException();
+        }
+        Serializable serializable = getItems().get(index);
         Value next = serializable instanceof Value ? (Value) serializable : ValueFactory.create(serializable);
         index++;
         return next;
@@ -42,7 +68,7 @@ public class ForLoopCondition implements LoopCondition {
 
     @Override
     public boolean hasMore() {
-        return loopToCurrentObject().hasNext();
+        return index < getItems().size();
     }
 
     @Override
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Map that reads through to a parent map and keeps its own puts and removals,
+ * so several maps can share the entries of a common parent without copying it.
+ * <p>
+ * The parent must not be modified once it is layered, so the owner of a forked map
+ * replaces it with a layer of its own as well.
+ */
+public class LayeredMap<K, V> extends AbstractMap<K, V> implements Serializable {
+
+    // beyond this depth lookups walk too many layers and the map is flattened instead
+    private static final int MAX_DEPTH = 8;
+
+    private final Map<K, V> parent;
+    private final Map<K, V> changes;
+    private final Set<Object> removals;
+    private final int depth;
+    private int size;
+
+    private LayeredMap(Map<K, V> parent) {
+        this.parent = parent;
+        this.changes = new HashMap<>();
+        this.removals = new HashSet<>();
+        this.depth = parent instanceof LayeredMap ? ((LayeredMap) parent).depth + 1 : 1;
+        this.size = parent.size();
+    }
+
+    /**
+     * @param map the map to layer - it must not be modified afterwards
+     * @return a new map that shares the current entries of the given map and keeps its own changes
+     */
+    public static <K, V> Map<K, V> fork(Map<K, V> map) {
+        return new LayeredMap<>(getSharedParent(map));
+    }
+
+    private static <K, V> Map<K, V> getSharedParent(Map<K, V> map) {
+        if (map instanceof LayeredMap) {
+            LayeredMap<K, V> layeredMap = (LayeredMap<K, V>) map;
+            if (!layeredMap.hasChanges()) {
+                return layeredMap.parent;
+            } else if (layeredMap.depth >= MAX_DEPTH) {
+                return new HashMap<>(layeredMap);
+            }
+        }
+        return map;
+    }
+
+    private boolean hasChanges() {
+        return !changes.isEmpty() || !removals.isEmpty();
+    }
+
+    @Override
+    public V get(Object key) {
+        if (changes.containsKey(key)) {
+            return changes.get(key);
+        }
+        return removals.contains(key) ? null : parent.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return changes.containsKey(key) || (!removals.contains(key) && parent.containsKey(key));
+    }
+
+    @Override
+    public V put(K key, V value) {
+        boolean existing = containsKey(key);
+        V previous = get(key);
+        changes.put(key, value);
+        removals.remove(key);
+        if (!existing) {
+            size++;
+        }
+        return previous;
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (!containsKey(key)) {
+            return null;
+        }
+        V previous = get(key);
+        changes.remove(key);
+        if (parent.containsKey(key)) {
+            removals.add(key);
+        }
+        size--;
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        changes.clear();
+        removals.addAll(parent.keySet());
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new LayeredIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Iterates the changes of this layer and then the parent entries that are neither changed nor removed
+     */
+    private class LayeredIterator implements Iterator<Entry<K, V>> {
+
+        private final Iterator<Entry<K, V>> changesIterator = changes.entrySet().iterator();
+        private final Iterator<Entry<K, V>> parentIterator = parent.entrySet().iterator();
+        private Entry<K, V> next;
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = findNext();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Entry<K, V> current = next;
+            next = null;
+            return current;
+        }
+
+        private Entry<K, V> findNext() {
+            if (changesIterator.hasNext()) {
+                Entry<K, V> entry = changesIterator.next();
+                return new SimpleImmutableEntry<>(entry);
+            }
+            while (parentIterator.hasNext()) {
+                Entry<K, V> entry = parentIterator.next();
+                if (!changes.containsKey(entry.getKey()) && !removals.contains(entry.getKey())) {
+                    return new SimpleImmutableEntry<>(entry);
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read-only view of several maps, where the entries of a map shadow the entries of the maps before it.
+ * <p>
+ * The view reads through to the maps, so the bindings can evaluate each expression over
+ * the context and the values bound so far without copying the context for every expression.
+ * Changes to the maps are visible in the view.
+ */
+public class OverlayMap<K, V> extends AbstractMap<K, V> {
+
+    private final List<Map<K, ? extends V>> layers;
+
+    /**
+     * @param layers the maps to read, from the bottom layer to the top one - null maps are skipped
+     */
+    @SafeVarargs
+    public OverlayMap(Map<K, ? extends V>... layers) {
+        this.layers = new ArrayList<>(layers.length);
+        for (Map<K, ? extends V> layer : layers) {
+            if (layer != null) {
+                this.layers.add(layer);
+            }
+        }
+    }
+
+    @Override
+    public V get(Object key) {
+        for (int index = layers.size() - 1; index >= 0; index--) {
+            Map<K, ? extends V> layer = layers.get(index);
+            V value = layer.get(key);
+            if (value != null || layer.containsKey(key)) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        for (Map<K, ? extends V> layer : layers) {
+            if (layer.containsKey(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new OverlayIterator();
+            }
+
+            @Override
+            public int size() {
+                int size = 0;
+                for (Iterator<Entry<K, V>> iterator = iterator(); iterator.hasNext(); iterator.next()) {
+                    size++;
+                }
+                return size;
+            }
+        };
+    }
+
+    private boolean isShadowed(Object key, int layerIndex) {
+        for (int index = layerIndex + 1; index < layers.size(); index++) {
+            if (layers.get(index).containsKey(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Iterates the layers from the top one down, skipping the entries shadowed by an upper layer
+     */
+    private class OverlayIterator implements Iterator<Entry<K, V>> {
+
+        private int layerIndex = layers.size();
+        private Iterator<? extends Entry<K, ? extends V>> layerIterator;
+        private Entry<K, V> next;
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = findNext();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Entry<K, V> current = next;
+            next = null;
+            return current;
+        }
+
+        private Entry<K, V> findNext() {
+            while (true) {
+                while (layerIterator != null && layerIterator.hasNext()) {
+                    Entry<K, ? extends V> entry = layerIterator.next();
+                    if (!isShadowed(entry.getKey(), layerIndex)) {
+                        return new SimpleImmutableEntry<K, V>(entry.getKey(), entry.getValue());
+                    }
+                }
+                if (layerIndex == 0) {
+                    return null;
+                }
+                layerIterator = layers.get(--layerIndex).entrySet().iterator();
+            }
+        }
+    }
+}
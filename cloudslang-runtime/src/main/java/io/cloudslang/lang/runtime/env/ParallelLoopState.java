@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.bindings.values.Value;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Progress of a parallel loop whose branches are created in windows of max_parallelism branches.
+ * Kept as a language variable of the flow context between the windows.
+ */
+public class ParallelLoopState implements Serializable {
+
+    public static final String PARALLEL_LOOP_STATE_KEY = "parallel.loop.state";
+
+    private final List<Value> splitData;
+    private final Long addBranchesStepId;
+    private BranchesAggregation branchesAggregation;
+    private int nextBranchIndex;
+
+    public ParallelLoopState(List<Value> splitData, Long addBranchesStepId) {
+        this.splitData = splitData;
+        this.addBranchesStepId = addBranchesStepId;
+    }
+
+    public List<Value> getSplitData() {
+        return splitData;
+    }
+
+    public Long getAddBranchesStepId() {
+        return addBranchesStepId;
+    }
+
+    /**
+     * @return the results of the branches that finished in the previous windows, or null before the first join
+     */
+    public BranchesAggregation getBranchesAggregation() {
+        return branchesAggregation;
+    }
+
+    public void setBranchesAggregation(BranchesAggregation branchesAggregation) {
+        this.branchesAggregation = branchesAggregation;
+    }
+
+    public int getNextBranchIndex() {
+        return nextBranchIndex;
+    }
+
+    public void setNextBranchIndex(int nextBranchIndex) {
+        this.nextBranchIndex = nextBranchIndex;
+    }
+
+    public boolean hasMoreBranches() {
+        return nextBranchIndex < splitData.size();
+    }
+}
@@ -13,16 +13,18 @@ import com.google.common.base.Function;
 import com.google.common.collect.Collections2;
 import com.hp.oo.sdk.content.plugin.SerializableSessionObject;
 import io.cloudslang.lang.entities.SystemProperty;
+import io.cloudslang.lang.entities.bindings.values.DecryptedContents;
 import io.cloudslang.lang.entities.bindings.values.SensitiveValue;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import org.apache.commons.lang.SerializationUtils;
 import org.apache.commons.lang3.Validate;
 
 /**
@@ -51,6 +53,9 @@ public class RunEnvironment implements Serializable {
 
     private final Set<SystemProperty> systemProperties;
 
+    // Contents decrypted by the sensitive values read during the current step, dropped at the end of the step
+    private transient DecryptedContents decryptedContents;
+
     // Map holding serializable data that is common for the entire run
     // This is data that should be shared between different actions with the ability to change the data
     private Map<String, SerializableSessionObject> serializableDataMap;
@@ -70,6 +75,47 @@ public class RunEnvironment implements Serializable {
         this(new HashSet<SystemProperty>());
     }
 
+    @SuppressWarnings("unchecked")
+    private RunEnvironment(RunEnvironment runEnvironment) {
+        contextStack = new ContextStack();
+        parentFlowStack = new ParentFlowStack();
+        // sensitive values are encrypted and decrypted in place, so each branch gets its own copies
+        callArguments = copySensitiveValues(runEnvironment.callArguments);
+        returnValues = runEnvironment.containsSensitiveReturnValues() ?
+                new ReturnValues(copySensitiveValues(runEnvironment.returnValues.getOutputs()),
+                        runEnvironment.returnValues.getResult()) :
+                runEnvironment.returnValues;
+        nextStepPosition = runEnvironment.nextStepPosition;
+        executionPath = new ExecutionPath(runEnvironment.executionPath);
+        // system properties are only read, except for sensitive values
+        systemProperties = runEnvironment.containsSensitiveSystemProperties() ?
+                (Set<SystemProperty>) SerializationUtils.clone(new HashSet<>(runEnvironment.systemProperties)) :
+                runEnvironment.systemProperties;
+        serializableDataMap = (Map<String, SerializableSessionObject>)
+                SerializationUtils.clone(new HashMap<>(runEnvironment.serializableDataMap));
+    }
+
+    /**
+     * Creates the run environment of a parallel branch without serializing this one:
+     * the stacks of the branch are empty and the values of the current step are shared,
+     * except for sensitive values which are copied.
+     *
+     * @return the branch run environment
+     */
+    public RunEnvironment fork() {
+        return new RunEnvironment(this);
+    }
+
+    private static Map<String, Value> copySensitiveValues(Map<String, Value> values) {
+        Map<String, Value> copy = new HashMap<>(values);
+        for (Map.Entry<String, Value> entry : copy.entrySet()) {
+            if (entry.getValue() != null && entry.getValue().isSensitive()) {
+                entry.setValue((Value) SerializationUtils.clone(entry.getValue()));
+            }
+        }
+        return copy;
+    }
+
     public ContextStack getStack() {
         return contextStack;
     }
@@ -149,6 +195,8 @@ public class RunEnvironment implements Serializable {
                 ((SensitiveValue) value).decrypt();
             }
         }
+        closeDecryptedContents();
+        decryptedContents = DecryptedContents.open();
     }
 
     public void encryptSensitiveData() {
@@ -157,6 +205,17 @@ public class RunEnvironment implements Serializable {
                 ((SensitiveValue) value).encrypt();
             }
         }
+        closeDecryptedContents();
+    }
+
+    /**
+     * Drops the contents decrypted during the step, for a step which fails before its sensitive data is encrypted
+     */
+    public void closeDecryptedContents() {
+        if (decryptedContents != null) {
+            decryptedContents.close();
+            decryptedContents = null;
+        }
     }
 
     private boolean containsSensitiveCallArgument() {
@@ -179,23 +238,11 @@ public class RunEnvironment implements Serializable {
     }
 
     private boolean containsSensitiveContexts() {
-        boolean hasSensitive = false;
-        ContextStack tempStack = new ContextStack();
-        Context context;
-        while (!hasSensitive && (context = contextStack.popContext()) != null) {
-            hasSensitive = containsSensitiveData(context.getImmutableViewOfLanguageVariables().values());
-            hasSensitive = hasSensitive || containsSensitiveData(context.getImmutableViewOfVariables().values());
-            tempStack.pushContext(context);
-        }
-        while ((context = tempStack.popContext()) != null) {
-            contextStack.pushContext(context);
-        }
-
-        return hasSensitive;
+        return contextStack.containsSensitiveData();
     }
 
     private List<Value> prepareValuesForEncryptDecrypt() {
-        List<Value> valuesToCheck = new LinkedList<>();
+        List<Value> valuesToCheck = new ArrayList<>();
         if (callArguments != null) {
             valuesToCheck.addAll(callArguments.values());
         }
@@ -210,16 +257,7 @@ public class RunEnvironment implements Serializable {
                 }
             }));
         }
-        ContextStack tempStack = new ContextStack();
-        Context context;
-        while ((context = contextStack.popContext()) != null) {
-            valuesToCheck.addAll(context.getImmutableViewOfLanguageVariables().values());
-            valuesToCheck.addAll(context.getImmutableViewOfVariables().values());
-            tempStack.pushContext(context);
-        }
-        while ((context = tempStack.popContext()) != null) {
-            contextStack.pushContext(context);
-        }
+        contextStack.addSensitiveValues(valuesToCheck);
 
         return valuesToCheck;
     }
@@ -9,6 +9,9 @@
  *******************************************************************************/
 package io.cloudslang.lang.runtime.steps;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.hp.oo.sdk.content.annotations.Param;
 import com.hp.oo.sdk.content.plugin.SerializableSessionObject;
 import io.cloudslang.lang.entities.ActionType;
@@ -61,6 +64,19 @@ public class ActionExecutionData extends AbstractExecutionData {
     @Autowired(required = false)
     private SlangStepDataConsumer stepDataConsumer;
 
+    /**
+     * the same few GAVs are normalized on every Java action call
+     */
+    private final LoadingCache<String, String> normalizedJavaGavs = CacheBuilder.newBuilder()
+            .maximumSize(1000)
+            .concurrencyLevel(2 * Runtime.getRuntime().availableProcessors())
+            .build(new CacheLoader<String, String>() {
+                @Override
+                public String load(String gav) {
+                    return normalizeGav(gav, PACKAGING_TYPE_JAR);
+                }
+            });
+
     public void doAction(@Param(EXECUTION_RUNTIME_SERVICES) ExecutionRuntimeServices executionRuntimeServices,
                          @Param(ScoreLangConstants.RUN_ENV) RunEnvironment runEnv,
                          @Param(ExecutionParametersConsts.NON_SERIALIZABLE_EXECUTION_DATA)
@@ -118,6 +134,7 @@ public class ActionExecutionData extends AbstractExecutionData {
                 callArgumentsDeepCopy,
                 Pair.of(LanguageEventData.EXCEPTION, ex.getMessage()));
             logger.error(ex);
+            runEnv.closeDecryptedContents();
             throw (ex);
         }
 
@@ -185,7 +202,7 @@ public class ActionExecutionData extends AbstractExecutionData {
     }
 
     private String normalizeJavaGav(String gav) {
-        return normalizeGav(gav, PACKAGING_TYPE_JAR);
+        return StringUtils.isEmpty(gav) ? gav : normalizedJavaGavs.getUnchecked(gav);
     }
 
     private Set<String> normalizePythonDependencies(Collection<String> dependencies) {
@@ -19,10 +19,10 @@ import io.cloudslang.runtime.api.java.JavaExecutionParametersProvider;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static io.cloudslang.score.api.execution.ExecutionParametersConsts.GLOBAL_SESSION_OBJECT;
 import static io.cloudslang.score.api.execution.ExecutionParametersConsts.SESSION_OBJECT;
@@ -37,6 +37,19 @@ public class CloudSlangJavaExecutionParameterProvider implements JavaExecutionPa
     private static final String SERIALIZABLE_SESSION_OBJECT = SerializableSessionObject.class.getCanonicalName();
     private static final String STEP_SERIALIZABLE_SESSION_OBJECT =
             StepSerializableSessionObject.class.getCanonicalName();
+
+    /**
+     * The parameter bindings of the action methods by class, resolved from their annotations once per method.
+     * Unlike a static map, a ClassValue does not keep the action classes and their class loaders from unloading.
+     */
+    private static final ClassValue<ConcurrentMap<Method, ParameterBinding[]>> PARAMETER_BINDINGS =
+            new ClassValue<ConcurrentMap<Method, ParameterBinding[]>>() {
+                @Override
+                protected ConcurrentMap<Method, ParameterBinding[]> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
     private final Map<String, SerializableSessionObject> serializableSessionData;
     private final Map<String, Serializable> currentContext;
     private final Map<String, Object> globalSessionObjectData;
@@ -59,60 +72,102 @@ public class CloudSlangJavaExecutionParameterProvider implements JavaExecutionPa
 
     @Override
     public Object[] getExecutionParameters(Method executionMethod) {
-        List<Object> args = new ArrayList<>();
+        ConcurrentMap<Method, ParameterBinding[]> classBindings =
+                PARAMETER_BINDINGS.get(executionMethod.getDeclaringClass());
+        ParameterBinding[] bindings = classBindings.get(executionMethod);
+        if (bindings == null) {
+            bindings = createParameterBindings(executionMethod);
+            classBindings.putIfAbsent(executionMethod, bindings);
+        }
+
+        Object[] args = new Object[bindings.length];
+        for (int index = 0; index < bindings.length; index++) {
+            ParameterBinding binding = bindings[index];
+            if (binding == null) {
+                throw new RuntimeException("All action arguments should be annotated with @Param");
+            }
+            switch (binding.kind) {
+                case GLOBAL_SESSION_OBJECT:
+                    args[index] = getSessionContextArgument(globalSessionObjectData,
+                            GLOBAL_SESSION_OBJECT_CLASS_NAME, binding.name, binding.classLoader);
+                    break;
+                case SESSION_OBJECT:
+                    args[index] = getSessionContextArgument(sessionObjectData, SESSION_OBJECT_CLASS_NAME,
+                            binding.name + "_" + (depth - 1), binding.classLoader);
+                    break;
+                case SERIALIZABLE_SESSION_OBJECT:
+                    args[index] = getSessionContextArgument(serializableSessionData, SERIALIZABLE_SESSION_OBJECT,
+                            binding.name, binding.classLoader);
+                    break;
+                case STEP_SERIALIZABLE_SESSION_OBJECT:
+                    args[index] = getStepSessionContextArgument(serializableSessionData, binding.name,
+                            binding.classLoader);
+                    break;
+                default:
+                    args[index] = getContextArgument(executionMethod, binding);
+                    break;
+            }
+        }
+        return args;
+    }
 
-        int index = 0;
+    /**
+     * @return the binding of every parameter of the method, null for a parameter without a single @Param
+     */
+    private static ParameterBinding[] createParameterBindings(Method executionMethod) {
         Class[] parameterTypes = executionMethod.getParameterTypes();
-        for (Annotation[] annotations : executionMethod.getParameterAnnotations()) {
-            index++;
-            for (Annotation annotation : annotations) {
+        Annotation[][] parameterAnnotations = executionMethod.getParameterAnnotations();
+        ParameterBinding[] bindings = new ParameterBinding[parameterTypes.length];
+        for (int index = 0; index < parameterTypes.length; index++) {
+            int paramAnnotations = 0;
+            for (Annotation annotation : parameterAnnotations[index]) {
                 String parameterName = getValueIfParamAnnotation(annotation);
                 if (parameterName != null) {
-                    String paramClassName = parameterTypes[index - 1].getCanonicalName();
-                    if (paramClassName.equals(GLOBAL_SESSION_OBJECT_CLASS_NAME)) {
-                        handleSessionContextArgument(globalSessionObjectData, GLOBAL_SESSION_OBJECT_CLASS_NAME,
-                                args, parameterName,
-                                annotation.getClass().getClassLoader());
-                    } else if (paramClassName.equals(SESSION_OBJECT_CLASS_NAME)) {
-                        handleSessionContextArgument(sessionObjectData, SESSION_OBJECT_CLASS_NAME,
-                                args, parameterName + "_" + (depth - 1),
-                                annotation.getClass().getClassLoader());
-                    } else if (paramClassName.equals(SERIALIZABLE_SESSION_OBJECT)) {
-                        handleSessionContextArgument(serializableSessionData, SERIALIZABLE_SESSION_OBJECT,
-                                args, parameterName,
-                                annotation.getClass().getClassLoader());
-                    } else if (paramClassName.equals(STEP_SERIALIZABLE_SESSION_OBJECT)) {
-                        handleStepSessionContextArgument(serializableSessionData, args, parameterName,
-                                annotation.getClass().getClassLoader());
-                    } else {
-                        Serializable value = currentContext.get(parameterName);
-                        Class parameterClass = parameterTypes[index - 1];
-                        if (parameterClass.isInstance(value) || value == null) {
-                            args.add(value);
-                        } else {
-                            throw new RuntimeException(new StringBuilder("Parameter type mismatch for action ")
-                                    .append(executionMethod.getName())
-                                    .append(" of class ")
-                                    .append(executionMethod.getDeclaringClass().getName())
-                                    .append(". Parameter ")
-                                    .append(parameterName)
-                                    .append(" expects type ")
-                                    .append(parameterClass.getName())
-                                    .append(". Actual type is ")
-                                    .append(value.getClass().getName())
-                                    .toString());
-                        }
-                    }
+                    paramAnnotations++;
+                    bindings[index] = new ParameterBinding(getParameterKind(parameterTypes[index]), parameterName,
+                            parameterTypes[index], annotation.getClass().getClassLoader());
                 }
             }
-            if (args.size() != index) {
-                throw new RuntimeException("All action arguments should be annotated with @Param");
+            if (paramAnnotations != 1) {
+                bindings[index] = null;
             }
         }
-        return args.toArray(new Object[args.size()]);
+        return bindings;
     }
 
-    private String getValueIfParamAnnotation(Annotation annotation) {
+    private static ParameterKind getParameterKind(Class parameterType) {
+        String paramClassName = parameterType.getCanonicalName();
+        if (GLOBAL_SESSION_OBJECT_CLASS_NAME.equals(paramClassName)) {
+            return ParameterKind.GLOBAL_SESSION_OBJECT;
+        } else if (SESSION_OBJECT_CLASS_NAME.equals(paramClassName)) {
+            return ParameterKind.SESSION_OBJECT;
+        } else if (SERIALIZABLE_SESSION_OBJECT.equals(paramClassName)) {
+            return ParameterKind.SERIALIZABLE_SESSION_OBJECT;
+        } else if (STEP_SERIALIZABLE_SESSION_OBJECT.equals(paramClassName)) {
+            return ParameterKind.STEP_SERIALIZABLE_SESSION_OBJECT;
+        }
+        return ParameterKind.CONTEXT;
+    }
+
+    private Serializable getContextArgument(Method executionMethod, ParameterBinding binding) {
+        Serializable value = currentContext.get(binding.name);
+        if (binding.type.isInstance(value) || value == null) {
+            return value;
+        }
+        throw new RuntimeException(new StringBuilder("Parameter type mismatch for action ")
+                .append(executionMethod.getName())
+                .append(" of class ")
+                .append(executionMethod.getDeclaringClass().getName())
+                .append(". Parameter ")
+                .append(binding.name)
+                .append(" expects type ")
+                .append(binding.type.getName())
+                .append(". Actual type is ")
+                .append(value.getClass().getName())
+                .toString());
+    }
+
+    private static String getValueIfParamAnnotation(Annotation annotation) {
         Class<? extends Annotation> annotationType = annotation.annotationType();
         if (PARAM_CLASS_NAME.equalsIgnoreCase(annotation.annotationType().getCanonicalName())) {
             try {
@@ -125,8 +180,7 @@ public class CloudSlangJavaExecutionParameterProvider implements JavaExecutionPa
         return null;
     }
 
-    private void handleStepSessionContextArgument(Map sessionData, List<Object> args,
-                                                  String parameterName, ClassLoader classLoader) {
+    private Object getStepSessionContextArgument(Map sessionData, String parameterName, ClassLoader classLoader) {
         final String stepSessionKey = parameterName + "_" + nodeNameWithDepth;
         Object sessionContextObject = sessionData.get(stepSessionKey);
         if (sessionContextObject == null) {
@@ -141,11 +195,11 @@ public class CloudSlangJavaExecutionParameterProvider implements JavaExecutionPa
             //noinspection unchecked
             sessionData.put(stepSessionKey, sessionContextObject);
         }
-        args.add(sessionContextObject);
+        return sessionContextObject;
     }
 
-    private void handleSessionContextArgument(Map sessionData, String objectClassName, List<Object> args,
-                                              String parameterName, ClassLoader classLoader) {
+    private Object getSessionContextArgument(Map sessionData, String objectClassName,
+                                             String parameterName, ClassLoader classLoader) {
         Object sessionContextObject = sessionData.get(parameterName);
         if (sessionContextObject == null) {
             try {
@@ -156,6 +210,28 @@ public class CloudSlangJavaExecutionParameterProvider implements JavaExecutionPa
             //noinspection unchecked
             sessionData.put(parameterName, sessionContextObject);
         }
-        args.add(sessionContextObject);
+        return sessionContextObject;
+    }
+
+    private enum ParameterKind {
+        GLOBAL_SESSION_OBJECT,
+        SESSION_OBJECT,
+        SERIALIZABLE_SESSION_OBJECT,
+        STEP_SERIALIZABLE_SESSION_OBJECT,
+        CONTEXT
+    }
+
+    private static class ParameterBinding {
+        private final ParameterKind kind;
+        private final String name;
+        private final Class type;
+        private final ClassLoader classLoader;
+
+        ParameterBinding(ParameterKind kind, String name, Class type, ClassLoader classLoader) {
+            this.kind = kind;
+            this.name = name;
+            this.type = type;
+            this.classLoader = classLoader;
+        }
     }
 }
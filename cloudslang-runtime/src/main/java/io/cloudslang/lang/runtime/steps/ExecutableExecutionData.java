@@ -116,6 +116,7 @@ public class ExecutableExecutionData extends AbstractExecutionData {
         } catch (RuntimeException e) {
             logger.error("There was an error running the start executable execution step of: \'" + nodeName +
                 "\'.\n\tError is: " + e.getMessage());
+            runEnv.closeDecryptedContents();
             throw new RuntimeException("Error running: \'" + nodeName + "\'.\n\t " + e.getMessage(), e);
         }
     }
@@ -211,6 +212,7 @@ public class ExecutableExecutionData extends AbstractExecutionData {
         } catch (RuntimeException e) {
             logger.error("There was an error running the finish executable execution step of: \'" + nodeName +
                 "\'.\n\tError is: " + e.getMessage());
+            runEnv.closeDecryptedContents();
             throw new RuntimeException("Error running: \'" + nodeName + "\'.\n\t" + e.getMessage(), e);
         }
     }
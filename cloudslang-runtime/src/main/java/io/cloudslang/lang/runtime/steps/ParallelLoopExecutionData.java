@@ -16,12 +16,16 @@ import io.cloudslang.lang.entities.MapLoopStatement;
 import io.cloudslang.lang.entities.ResultNavigation;
 import io.cloudslang.lang.entities.ScoreLangConstants;
 import io.cloudslang.lang.entities.bindings.Output;
+import io.cloudslang.lang.entities.bindings.ScriptFunction;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.lang.runtime.RuntimeConstants;
 import io.cloudslang.lang.runtime.bindings.OutputsBinding;
 import io.cloudslang.lang.runtime.bindings.ParallelLoopBinding;
+import io.cloudslang.lang.runtime.bindings.scripts.ScriptEvaluator;
+import io.cloudslang.lang.runtime.env.BranchesAggregation;
 import io.cloudslang.lang.runtime.env.Context;
+import io.cloudslang.lang.runtime.env.ParallelLoopState;
 import io.cloudslang.lang.runtime.env.ReturnValues;
 import io.cloudslang.lang.runtime.env.RunEnvironment;
 import io.cloudslang.lang.runtime.events.LanguageEventData;
@@ -30,12 +34,10 @@ import io.cloudslang.score.api.execution.ExecutionParametersConsts;
 import io.cloudslang.score.lang.ExecutionRuntimeServices;
 import io.cloudslang.score.lang.SystemContext;
 import org.apache.commons.collections4.MapUtils;
-import org.apache.commons.lang.SerializationUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.log4j.Logger;
-import org.python.google.common.collect.Lists;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -57,12 +59,17 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
 
     public static final String BRANCH_EXCEPTION_PREFIX = "Error running branch";
 
+    private static final String STR_VALUE_KEY = "value";
+
     @Autowired
     private ParallelLoopBinding parallelLoopBinding;
 
     @Autowired
     private OutputsBinding outputsBinding;
 
+    @Autowired
+    private ScriptEvaluator scriptEvaluator;
+
     private static final Logger logger = Logger.getLogger(ParallelLoopExecutionData.class);
 
     public void addBranches(@Param(ScoreLangConstants.PARALLEL_LOOP_STATEMENT_KEY) LoopStatement parallelLoopStatement,
@@ -76,29 +83,49 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
 
                             @Param(ScoreLangConstants.NEXT_STEP_ID_KEY) Long nextStepId,
                             @Param(ScoreLangConstants.BRANCH_BEGIN_STEP_ID_KEY) Long branchBeginStep,
-                            @Param(ScoreLangConstants.REF_ID) String refId) {
+                            @Param(ScoreLangConstants.REF_ID) String refId,
+                            @Param(ScoreLangConstants.MAX_PARALLELISM_KEY) Integer maxParallelism,
+                            @Param(ScoreLangConstants.ADD_BRANCHES_STEP_ID_KEY) Long addBranchesStepId) {
 
         try {
             Context flowContext = runEnv.getStack().popContext();
 
-            List<Value> splitData = parallelLoopBinding
-                .bindParallelLoopList(parallelLoopStatement, flowContext, runEnv.getSystemProperties(), nodeName);
+            // the state is not passed on to the branches
+            ParallelLoopState parallelLoopState = removeParallelLoopState(flowContext);
+            List<Value> splitData;
+            if (parallelLoopState == null) {
+                splitData = parallelLoopBinding
+                    .bindParallelLoopList(parallelLoopStatement, flowContext, runEnv.getSystemProperties(), nodeName);
 
-            fireEvent(
-                executionRuntimeServices,
-                ScoreLangConstants.EVENT_SPLIT_BRANCHES,
-                "parallel loop expression bound",
-                runEnv.getExecutionPath().getCurrentPath(),
-                LanguageEventData.StepType.STEP,
-                nodeName,
-                flowContext.getImmutableViewOfVariables(),
-                Pair.of(LanguageEventData.BOUND_PARALLEL_LOOP_EXPRESSION, (Serializable) splitData));
+                fireEvent(
+                    executionRuntimeServices,
+                    ScoreLangConstants.EVENT_SPLIT_BRANCHES,
+                    "parallel loop expression bound",
+                    runEnv.getExecutionPath().getCurrentPath(),
+                    LanguageEventData.StepType.STEP,
+                    nodeName,
+                    flowContext.getImmutableViewOfVariables(),
+                    Pair.of(LanguageEventData.BOUND_PARALLEL_LOOP_EXPRESSION, (Serializable) splitData));
+
+                if (maxParallelism != null && addBranchesStepId != null && splitData.size() > maxParallelism) {
+                    parallelLoopState = new ParallelLoopState(splitData, addBranchesStepId);
+                }
+            } else {
+                splitData = parallelLoopState.getSplitData();
+            }
+            int firstBranchIndex = parallelLoopState == null ? 0 : parallelLoopState.getNextBranchIndex();
+            int endBranchIndex = parallelLoopState == null ?
+                splitData.size() : Math.min(splitData.size(), firstBranchIndex + maxParallelism);
 
             runEnv.putNextStepPosition(nextStepId);
             runEnv.getExecutionPath().down();
+            // branches of later windows continue the execution path of the previous ones
+            for (int index = 0; index < firstBranchIndex; index++) {
+                runEnv.getExecutionPath().forward();
+            }
 
-            for (Value splitItem : splitData) {
-                Context branchContext = (Context) SerializationUtils.clone(flowContext);
+            for (Value splitItem : splitData.subList(firstBranchIndex, endBranchIndex)) {
+                Context branchContext = flowContext.fork();
 
                 // first fire event
                 fireEvent(
@@ -114,8 +141,7 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
                 // take path down one level
                 runEnv.getExecutionPath().down();
 
-                RunEnvironment branchRuntimeEnvironment = (RunEnvironment) SerializationUtils.clone(runEnv);
-                branchRuntimeEnvironment.resetStacks();
+                RunEnvironment branchRuntimeEnvironment = runEnv.fork();
 
                 if (parallelLoopStatement instanceof ListLoopStatement) {
                     branchContext.putVariable(((ListLoopStatement) parallelLoopStatement).getVarName(), splitItem);
@@ -141,10 +167,16 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
                 runEnv.getExecutionPath().forward();
             }
 
+            if (parallelLoopState != null) {
+                parallelLoopState.setNextBranchIndex(endBranchIndex);
+                flowContext.putLanguageVariable(ParallelLoopState.PARALLEL_LOOP_STATE_KEY,
+                    ValueFactory.create(parallelLoopState));
+            }
             updateCallArgumentsAndPushContextToStack(runEnv, flowContext, new HashMap<String, Value>());
         } catch (RuntimeException e) {
             logger.error("There was an error running the add branches execution step of: \'" + nodeName +
                 "\'. Error is: " + e.getMessage());
+            runEnv.closeDecryptedContents();
             throw new RuntimeException("Error running: " + nodeName + ": " + e.getMessage(), e);
         }
 
@@ -158,16 +190,25 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
                              @Param(ScoreLangConstants.NODE_NAME_KEY) String nodeName) {
         try {
             runEnv.getExecutionPath().up();
-            List<Map<String, Serializable>> branchesContext = Lists.newArrayList();
             Context flowContext = runEnv.getStack().popContext();
+            ParallelLoopState parallelLoopState = removeParallelLoopState(flowContext);
+            BranchesAggregation branchesAggregation = parallelLoopState == null ?
+                null : parallelLoopState.getBranchesAggregation();
+            if (branchesAggregation == null) {
+                branchesAggregation = new BranchesAggregation(stepPublishValues);
+            }
 
-            collectBranchesData(executionRuntimeServices, nodeName, branchesContext);
-            Map<String, Value> outputBindingContext = new HashMap<>();
-            outputBindingContext.put(
-                RuntimeConstants.BRANCHES_CONTEXT_KEY,
-                ValueFactory.create((Serializable) branchesContext)
-            );
+            collectBranchesData(runEnv, executionRuntimeServices, nodeName, branchesAggregation);
 
+            if (parallelLoopState != null && parallelLoopState.hasMoreBranches()) {
+                // go back to the add branches step for the next window, publish once all the branches finished
+                parallelLoopState.setBranchesAggregation(branchesAggregation);
+                flowContext.putLanguageVariable(ParallelLoopState.PARALLEL_LOOP_STATE_KEY,
+                    ValueFactory.create(parallelLoopState));
+                runEnv.putNextStepPosition(parallelLoopState.getAddBranchesStepId());
+                runEnv.getStack().pushContext(flowContext);
+                return;
+            }
             Map<String, Value> publishValues =
                 bindPublishValues(
                     runEnv,
@@ -175,12 +216,12 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
                     stepPublishValues,
                     stepNavigationValues,
                     nodeName,
-                    outputBindingContext
+                    branchesAggregation
                 );
 
             flowContext.putVariables(publishValues);
 
-            String parallelLoopResult = getParallelLoopResult(branchesContext);
+            String parallelLoopResult = branchesAggregation.getParallelLoopResult();
 
             handleNavigationAndReturnValues(
                 runEnv,
@@ -196,10 +237,16 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
         } catch (RuntimeException e) {
             logger.error("There was an error running the joinBranches execution step of: \'" + nodeName +
                 "\'. Error is: " + e.getMessage());
+            runEnv.closeDecryptedContents();
             throw new RuntimeException("Error running: \'" + nodeName + "\': \n" + e.getMessage(), e);
         }
     }
 
+    private ParallelLoopState removeParallelLoopState(Context flowContext) {
+        Value parallelLoopState = flowContext.removeLanguageVariable(ParallelLoopState.PARALLEL_LOOP_STATE_KEY);
+        return parallelLoopState == null ? null : (ParallelLoopState) parallelLoopState.get();
+    }
+
     private void handleNavigationAndReturnValues(
         RunEnvironment runEnv,
         ExecutionRuntimeServices executionRuntimeServices,
@@ -237,26 +284,13 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
         runEnv.putNextStepPosition(nextStepPosition);
     }
 
-    private String getParallelLoopResult(List<Map<String, Serializable>> branchesContext) {
-        // if one of the branches failed then return with FAILURE, otherwise return with SUCCESS
-        String parallelLoopResult = ScoreLangConstants.SUCCESS_RESULT;
-        for (Map<String, Serializable> branchContext : branchesContext) {
-            String branchResult = (String) branchContext.get(ScoreLangConstants.BRANCH_RESULT_KEY);
-            if (branchResult.equals(ScoreLangConstants.FAILURE_RESULT)) {
-                parallelLoopResult = ScoreLangConstants.FAILURE_RESULT;
-                break;
-            }
-        }
-        return parallelLoopResult;
-    }
-
     private Map<String, Value> bindPublishValues(
         RunEnvironment runEnv,
         ExecutionRuntimeServices executionRuntimeServices,
         List<Output> stepPublishValues,
         Map<String, ResultNavigation> stepNavigationValues,
         String nodeName,
-        Map<String, Value> publishContext) {
+        BranchesAggregation branchesAggregation) {
 
         fireEvent(
             executionRuntimeServices,
@@ -269,19 +303,21 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
             Pair.of(ScoreLangConstants.STEP_PUBLISH_KEY, (Serializable) stepPublishValues),
             Pair.of(ScoreLangConstants.STEP_NAVIGATION_KEY, (Serializable) stepNavigationValues));
 
-        Map<String, Value> outputsBindingContext =
-            io.cloudslang.lang.entities.utils.MapUtils.mergeMaps(Collections.<String, Value>emptyMap(), publishContext);
+        Map<String, Value> outputsBindingContext = io.cloudslang.lang.entities.utils.MapUtils
+            .mergeMaps(Collections.<String, Value>emptyMap(), branchesAggregation.getPublishContext());
         return outputsBinding.bindOutputs(
             outputsBindingContext,
             runEnv.getSystemProperties(),
-            stepPublishValues
+            stepPublishValues,
+            branchesAggregation.getReducedPublishValues(stepPublishValues)
         );
     }
 
     private void collectBranchesData(
+        RunEnvironment runEnv,
         ExecutionRuntimeServices executionRuntimeServices,
         String nodeName,
-        List<Map<String, Serializable>> branchesContext) {
+        BranchesAggregation branchesAggregation) {
 
         List<EndBranchDataContainer> branches = executionRuntimeServices.getFinishedChildBranchesData();
         for (EndBranchDataContainer branch : branches) {
@@ -295,7 +331,7 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
             ReturnValues executableReturnValues = branchRuntimeEnvironment.removeReturnValues();
             String branchResult = executableReturnValues.getResult();
             branchContextMap.put(ScoreLangConstants.BRANCH_RESULT_KEY, branchResult);
-            branchesContext.add(branchContextMap);
+            branchesAggregation.addBranch(branchContextMap, value -> pythonStr(value, runEnv));
 
             // up branch path
             branchRuntimeEnvironment.getExecutionPath().up();
@@ -313,6 +349,14 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
         }
     }
 
+    private String pythonStr(Serializable value, RunEnvironment runEnv) {
+        Map<String, Value> context = new HashMap<>();
+        context.put(STR_VALUE_KEY, ValueFactory.create(value));
+        Value result = scriptEvaluator.evalExpr("str(" + STR_VALUE_KEY + ")", context, runEnv.getSystemProperties(),
+            Collections.<ScriptFunction>emptySet());
+        return (String) result.get();
+    }
+
     private void checkExceptionInBranch(EndBranchDataContainer branch) {
         //first we check that no exception was thrown during the execution of the branch
         String branchException = branch.getException();
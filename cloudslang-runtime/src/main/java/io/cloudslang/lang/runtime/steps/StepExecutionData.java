@@ -130,6 +130,7 @@ public class StepExecutionData extends AbstractExecutionData {
         } catch (RuntimeException e) {
             logger.error("There was an error running the beginStep execution step of: \'" + nodeName +
                     "\'. Error is: " + e.getMessage());
+            runEnv.closeDecryptedContents();
             throw new RuntimeException("Error running: " + nodeName + ": " + e.getMessage(), e);
         }
     }
@@ -217,6 +218,7 @@ public class StepExecutionData extends AbstractExecutionData {
         } catch (RuntimeException e) {
             logger.error("There was an error running the endStep execution step of: \'" + nodeName +
                     "\'. Error is: " + e.getMessage());
+            runEnv.closeDecryptedContents();
             throw new RuntimeException("Error running: \'" + nodeName + "\': " + e.getMessage(), e);
         }
     }
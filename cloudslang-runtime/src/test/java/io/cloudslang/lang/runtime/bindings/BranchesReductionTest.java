@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings;
+
+import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.entities.bindings.Output;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import io.cloudslang.lang.runtime.RuntimeConstants;
+import io.cloudslang.lang.runtime.env.BranchesAggregation;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BranchesReductionTest {
+
+    private static final Function<Serializable, String> PYTHON_STR = new Function<Serializable, String>() {
+        @Override
+        public String apply(Serializable value) {
+            return "python:" + value;
+        }
+    };
+
+    @Test
+    public void testParseReductions() {
+        assertNotNull(BranchesReduction.parse("str(len(branches_context))"));
+        assertNotNull(BranchesReduction.parse(" ','.join(map(lambda x: x['name'], branches_context)) "));
+        assertNotNull(BranchesReduction.parse("\",\".join(map(lambda x:str(x[\"name\"]),branches_context))"));
+        assertNotNull(BranchesReduction.parse("' '.join([x['name'] for x in branches_context])"));
+        assertNotNull(BranchesReduction.parse("' '.join(str(branch['name']) for branch in branches_context)"));
+    }
+
+    @Test
+    public void testParseOtherExpressions() {
+        assertNull(BranchesReduction.parse("len(branches_context)"));
+        assertNull(BranchesReduction.parse("str(map(lambda x: x['name'], branches_context))"));
+        assertNull(BranchesReduction.parse("','.join(map(lambda x: y['name'], branches_context))"));
+        assertNull(BranchesReduction.parse("','.join([x['name'] for x in branches_context)"));
+        assertNull(BranchesReduction.parse("','.join(map(lambda x: str(x['name'], branches_context))"));
+        assertNull(BranchesReduction.parse("','.join([x['name'] for x in branches_context if x])"));
+        assertNull(BranchesReduction.parse("'\\n'.join([x['name'] for x in branches_context])"));
+        assertNull(BranchesReduction.parse("''' '''.join([x['name'] for x in branches_context])"));
+    }
+
+    @Test
+    public void testCount() {
+        BranchesReduction reduction = BranchesReduction.parse("str(len(branches_context))");
+        assertEquals("0", reduction.getResult());
+        reduction.add(branch("name", "a"), PYTHON_STR);
+        reduction.add(branch("name", "b"), PYTHON_STR);
+        assertEquals("2", reduction.getResult());
+    }
+
+    @Test
+    public void testJoin() {
+        BranchesReduction reduction = BranchesReduction.parse("', '.join([x['name'] for x in branches_context])");
+        reduction.add(branch("name", "a"), PYTHON_STR);
+        reduction.add(branch("name", "b"), PYTHON_STR);
+        assertEquals("a, b", reduction.getResult());
+    }
+
+    @Test
+    public void testJoinWithStr() {
+        BranchesReduction reduction = BranchesReduction.parse("','.join(map(lambda x: str(x['name']), " +
+                "branches_context))");
+        reduction.add(branch("name", "a"), PYTHON_STR);
+        reduction.add(branch("name", null), PYTHON_STR);
+        reduction.add(branch("name", 3), PYTHON_STR);
+        reduction.add(branch("name", true), PYTHON_STR);
+        reduction.add(branch("name", new ArrayList<>(Arrays.asList("b"))), PYTHON_STR);
+        assertEquals("a,None,3,True,python:[b]", reduction.getResult());
+    }
+
+    @Test
+    public void testJoinErrorIsReportedWithTheResult() {
+        BranchesReduction reduction = BranchesReduction.parse("','.join([x['name'] for x in branches_context])");
+        reduction.add(branch("name", "a"), PYTHON_STR);
+        reduction.add(branch("name", 1), PYTHON_STR);
+        reduction.add(branch("other", "b"), PYTHON_STR);
+        try {
+            reduction.getResult();
+            fail("expected a type error");
+        } catch (RuntimeException e) {
+            assertEquals("TypeError: sequence item 1: expected string, Integer found", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testAggregationReducesBranches() {
+        List<Output> publishValues = Arrays.asList(
+                new Output("names", ValueFactory.create("${ ','.join([x['name'] for x in branches_context]) }")),
+                new Output("count", ValueFactory.create("${ str(len(branches_context)) }")),
+                new Output("summary", ValueFactory.create("${ count + ' branches' }")));
+        BranchesAggregation aggregation = new BranchesAggregation(publishValues);
+        aggregation.addBranch(branch("name", "a"), PYTHON_STR);
+        aggregation.addBranch(branch("name", "b"), PYTHON_STR);
+
+        assertFalse(aggregation.getPublishContext().containsKey(RuntimeConstants.BRANCHES_CONTEXT_KEY));
+        assertEquals(ScoreLangConstants.SUCCESS_RESULT, aggregation.getParallelLoopResult());
+        Map<String, Value> reducedPublishValues = aggregation.getReducedPublishValues(publishValues);
+        assertEquals(2, reducedPublishValues.size());
+        assertEquals(ValueFactory.create("a,b"), reducedPublishValues.get("names"));
+        assertEquals(ValueFactory.create("2"), reducedPublishValues.get("count"));
+    }
+
+    @Test
+    public void testAggregationKeepsExpressionsPublishedByBranchesAsValues() {
+        List<Output> publishValues = Collections.singletonList(
+                new Output("names", ValueFactory.create("${ ''.join([x['name'] for x in branches_context]) }")));
+        BranchesAggregation aggregation = new BranchesAggregation(publishValues);
+        aggregation.addBranch(branch("name", "${ __import__('os')"), PYTHON_STR);
+        aggregation.addBranch(branch("name", ".getcwd() }"), PYTHON_STR);
+
+        assertEquals(ValueFactory.create("${ __import__('os').getcwd() }"),
+                aggregation.getReducedPublishValues(publishValues).get("names"));
+    }
+
+    @Test
+    public void testAggregationKeepsContextsForOtherExpressions() {
+        List<Output> publishValues = Arrays.asList(
+                new Output("count", ValueFactory.create("${ str(len(branches_context)) }")),
+                new Output("first", ValueFactory.create("${ branches_context[0]['name'] }")));
+        BranchesAggregation aggregation = new BranchesAggregation(publishValues);
+        Map<String, Serializable> failedBranch = branch("name", "a");
+        failedBranch.put(ScoreLangConstants.BRANCH_RESULT_KEY, ScoreLangConstants.FAILURE_RESULT);
+        aggregation.addBranch(failedBranch, PYTHON_STR);
+
+        Value branchesContext = aggregation.getPublishContext().get(RuntimeConstants.BRANCHES_CONTEXT_KEY);
+        assertEquals(Arrays.asList(failedBranch), branchesContext.get());
+        assertTrue(aggregation.getReducedPublishValues(publishValues).isEmpty());
+        assertEquals(ScoreLangConstants.FAILURE_RESULT, aggregation.getParallelLoopResult());
+    }
+
+    @Test
+    public void testAggregationKeepsContextsWhenAnOutputShadowsBranchesContext() {
+        List<Output> publishValues = Arrays.asList(
+                new Output(RuntimeConstants.BRANCHES_CONTEXT_KEY, ValueFactory.create("${ 'x' }")),
+                new Output("count", ValueFactory.create("${ str(len(branches_context)) }")));
+        BranchesAggregation aggregation = new BranchesAggregation(publishValues);
+        aggregation.addBranch(branch("name", "a"), PYTHON_STR);
+        aggregation.addBranch(branch("name", "b"), PYTHON_STR);
+
+        assertTrue(aggregation.getPublishContext().containsKey(RuntimeConstants.BRANCHES_CONTEXT_KEY));
+        assertTrue(aggregation.getReducedPublishValues(publishValues).isEmpty());
+    }
+
+    private Map<String, Serializable> branch(String key, Serializable value) {
+        Map<String, Serializable> branch = new HashMap<>();
+        branch.put(key, value);
+        branch.put(ScoreLangConstants.BRANCH_RESULT_KEY, ScoreLangConstants.SUCCESS_RESULT);
+        return branch;
+    }
+}
@@ -190,6 +190,24 @@ public class OutputsBindingTest {
         Assert.assertEquals("Binding results are not as expected", expectedOutputs, result);
     }
 
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testBoundOutputsAreNotEvaluated() {
+        List<Output> outputs = Arrays.asList(
+            createExpressionOutput("names", "${ names_expression }"),
+            createExpressionOutput("summary", "${ names + '!' }"));
+        Map<String, Value> boundOutputs = new HashMap<>();
+        boundOutputs.put("names", ValueFactory.create("${ __import__('os').getcwd() }"));
+
+        Map<String, Value> result = outputsBinding
+            .bindOutputs(new HashMap<String, Value>(), EMPTY_SET, outputs, boundOutputs);
+
+        Map<String, Value> expectedOutputs = new HashMap<>();
+        expectedOutputs.put("names", ValueFactory.create("${ __import__('os').getcwd() }"));
+        expectedOutputs.put("summary", ValueFactory.create("${ __import__('os').getcwd() }!"));
+
+        Assert.assertEquals("Binding results are not as expected", expectedOutputs, result);
+    }
+
     private Map<String, Value> prepareOperationContext() {
         Map<String, Value> operationContext = new HashMap<>();
         operationContext.put("operationContextKey1", ValueFactory.create("opContextValue1"));
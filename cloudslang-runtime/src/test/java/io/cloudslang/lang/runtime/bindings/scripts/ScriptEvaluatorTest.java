@@ -51,6 +51,7 @@ import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.python.google.common.collect.Sets.newHashSet;
@@ -144,6 +145,54 @@ public class ScriptEvaluatorTest {
         Assert.assertEquals(expectedFunctions, actualFunctions);
     }
 
+    @Test
+    public void testEvalExprPreparedOnce() throws Exception {
+        reset(pythonRuntimeService);
+        scriptEvaluator.invalidateExpressionCache();
+        when(pythonRuntimeService.eval(anyString(), anyString(), isA(Map.class)))
+                .thenReturn(new PythonEvaluationResult("result", new HashMap<String, Serializable>()));
+        Set<ScriptFunction> functionDependencies = newHashSet(ScriptFunction.GET, ScriptFunction.CHECK_EMPTY);
+        String expression = "check_empty(get('a'), 'b')";
+        long hitsBefore = scriptEvaluator.getExpressionCacheStats().hitCount();
+        long missesBefore = scriptEvaluator.getExpressionCacheStats().missCount();
+
+        scriptEvaluator.evalExpr(expression, new HashMap<String, Value>(), new HashSet<SystemProperty>(),
+                functionDependencies);
+        scriptEvaluator.evalExpr(expression, new HashMap<String, Value>(), new HashSet<SystemProperty>(),
+                newHashSet(ScriptFunction.CHECK_EMPTY, ScriptFunction.GET));
+        scriptEvaluator.evalExpr(expression, new HashMap<String, Value>(), new HashSet<SystemProperty>(),
+                newHashSet(ScriptFunction.GET));
+
+        final ArgumentCaptor<String> scriptCaptor = ArgumentCaptor.forClass(String.class);
+        verify(pythonRuntimeService, times(3)).eval(scriptCaptor.capture(), eq(expression), anyMap());
+        Assert.assertSame(scriptCaptor.getAllValues().get(0), scriptCaptor.getAllValues().get(1));
+        Assert.assertEquals(GET_FUNCTION_DEFINITION + LINE_SEPARATOR + LINE_SEPARATOR,
+                scriptCaptor.getAllValues().get(2));
+        Assert.assertEquals(hitsBefore + 1, scriptEvaluator.getExpressionCacheStats().hitCount());
+        Assert.assertEquals(missesBefore + 2, scriptEvaluator.getExpressionCacheStats().missCount());
+    }
+
+    @Test
+    public void testEvalExprContextContainsReadVariablesOnly() throws Exception {
+        reset(pythonRuntimeService);
+        when(pythonRuntimeService.eval(anyString(), anyString(), isA(Map.class)))
+                .thenReturn(new PythonEvaluationResult("result", new HashMap<String, Serializable>()));
+        Map<String, Value> context = new HashMap<>();
+        context.put("var1", ValueFactory.create("value1"));
+        context.put("var2", ValueFactory.create("value2"));
+        context.put("var3", ValueFactory.create("value3"));
+        final ArgumentCaptor<Map> contextCaptor = ArgumentCaptor.forClass(Map.class);
+
+        scriptEvaluator.evalExpr("var1.upper() + get('var2', 'default')", context, new HashSet<SystemProperty>(),
+                newHashSet(ScriptFunction.GET));
+        scriptEvaluator.evalExpr("get(var1)", context, new HashSet<SystemProperty>(),
+                newHashSet(ScriptFunction.GET));
+
+        verify(pythonRuntimeService, times(2)).eval(anyString(), anyString(), contextCaptor.capture());
+        Assert.assertEquals(newHashSet("var1", "var2"), contextCaptor.getAllValues().get(0).keySet());
+        Assert.assertEquals(context.keySet(), contextCaptor.getAllValues().get(1).keySet());
+    }
+
     @Configuration
     static class Config {
         @Bean
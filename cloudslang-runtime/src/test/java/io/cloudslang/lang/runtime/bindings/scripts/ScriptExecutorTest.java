@@ -35,16 +35,21 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
+import static io.cloudslang.lang.entities.properties.SlangSystemPropertyConstant.CSLANG_PYTHON_WARMUP_ENABLED;
+import static org.mockito.Matchers.anyMapOf;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -101,6 +106,22 @@ public class ScriptExecutorTest {
         scriptExecutor.executeScript(script, new HashMap<String, Value>());
     }
 
+    @Test
+    public void testWarmUpRunsInBackgroundWhenEnabled() throws Exception {
+        PythonRuntimeService pythonRuntimeService = mock(PythonRuntimeService.class);
+        ScriptExecutor warmedUpScriptExecutor = new ScriptExecutor();
+        ReflectionTestUtils.setField(warmedUpScriptExecutor, "pythonRuntimeService", pythonRuntimeService);
+        System.setProperty(CSLANG_PYTHON_WARMUP_ENABLED.getValue(), "true");
+        try {
+            warmedUpScriptExecutor.warmUp();
+        } finally {
+            System.clearProperty(CSLANG_PYTHON_WARMUP_ENABLED.getValue());
+        }
+
+        verify(pythonRuntimeService, timeout(10000)).exec(eq(Collections.<String>emptySet()), eq("pass"),
+                anyMapOf(String.class, Serializable.class));
+    }
+
     @Configuration
     static class Config {
         @Bean
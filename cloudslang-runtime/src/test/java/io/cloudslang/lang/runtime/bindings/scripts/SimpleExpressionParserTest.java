@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings.scripts;
+
+import configuration.SlangEntitiesSpringConfig;
+import io.cloudslang.lang.entities.bindings.ScriptFunction;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = SlangEntitiesSpringConfig.class)
+public class SimpleExpressionParserTest {
+
+    private static final Set<ScriptFunction> GET_DEPENDENCY = EnumSet.of(ScriptFunction.GET);
+
+    private Map<String, Value> context;
+
+    @Before
+    public void setUp() {
+        context = new HashMap<>();
+        context.put("return_code", ValueFactory.create("0"));
+        context.put("name", ValueFactory.create("abc"));
+        context.put("password", ValueFactory.create("secret", true));
+        context.put("empty_value", ValueFactory.create(null));
+        context.put("number", ValueFactory.create(5));
+        context.put("flag", ValueFactory.create(true));
+    }
+
+    @Test
+    public void testVariableAccess() {
+        assertResult("abc", false, "name");
+        assertResult(5, false, " number ");
+        assertResult(1, false, "flag");
+        assertResult(null, false, "empty_value");
+    }
+
+    @Test
+    public void testLiterals() {
+        assertResult("literal", false, "'literal'");
+        assertResult("literal", false, "\"literal\"");
+        assertResult(42, false, "42");
+        assertResult(1, false, "True");
+        assertResult(0, false, "False");
+        assertResult(null, false, "None");
+    }
+
+    @Test
+    public void testGetFunction() {
+        assertResult("abc", false, "get('name', 'default')");
+        assertResult("default", false, "get('missing', 'default')");
+        assertResult("default", false, "get('empty_value', 'default')");
+        assertResult(null, false, "get('missing')");
+        assertResult("xabc", false, "get('missing', 'x' + name)");
+    }
+
+    @Test
+    public void testConcatenationAndComparison() {
+        assertResult("abc_0", false, "name + '_' + return_code");
+        assertResult(1, false, "return_code == '0'");
+        assertResult(0, false, "return_code == 0");
+        assertResult(1, false, "number != '5'");
+        assertResult(1, false, "empty_value == None");
+    }
+
+    @Test
+    public void testSensitiveAccess() {
+        assertResult("secret", true, "password");
+        assertResult(0, true, "password == ''");
+        assertResult("abc", false, "get('name', password)");
+        assertResult("secret", true, "get('missing', password)");
+    }
+
+    @Test
+    public void testNotSimpleExpressions() {
+        assertNotSimple("name.upper()");
+        assertNotSimple("name[0]");
+        assertNotSimple("name if return_code == '0' else ''");
+        assertNotSimple("return_code == '0' and name == 'abc'");
+        assertNotSimple("'a' == 'a' == 'a'");
+        assertNotSimple("'\\n'");
+        assertNotSimple("'''abc'''");
+        assertNotSimple("u'abc'");
+        assertNotSimple("010");
+        assertNotSimple("1.5");
+        assertNotSimple("str(number)");
+        assertNotSimple("get_sp('a.b')");
+        assertNull(SimpleExpressionParser.parse("get('name')", Collections.<ScriptFunction>emptySet()));
+    }
+
+    @Test
+    public void testFallbackForUnsupportedOperands() {
+        assertFallback("name + number");
+        assertFallback("empty_value + name");
+        assertFallback("flag == 1");
+        assertFallback("missing_variable");
+        assertFallback("get");
+        context.put("True", ValueFactory.create(new ArrayList<>()));
+        assertFallback("True");
+    }
+
+    private void assertResult(Serializable expected, boolean sensitive, String expression) {
+        SimpleExpression simpleExpression = SimpleExpressionParser.parse(expression, GET_DEPENDENCY);
+        assertNotNull(expression, simpleExpression);
+        Value result = simpleExpression.evaluate(context);
+        assertNotNull(expression, result);
+        assertEquals(expression, expected, result.get());
+        assertEquals(expression, sensitive, result.isSensitive());
+    }
+
+    private void assertNotSimple(String expression) {
+        assertNull(expression, SimpleExpressionParser.parse(expression, GET_DEPENDENCY));
+    }
+
+    private void assertFallback(String expression) {
+        SimpleExpression simpleExpression = SimpleExpressionParser.parse(expression, GET_DEPENDENCY);
+        assertNotNull(expression, simpleExpression);
+        assertNull(expression, simpleExpression.evaluate(context));
+    }
+}
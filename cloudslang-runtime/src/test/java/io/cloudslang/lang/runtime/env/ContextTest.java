@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.commons.lang.SerializationUtils;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ContextTest {
+
+    @Test
+    public void testSensitiveValuesAreTrackedAsVariablesChange() {
+        Value password = ValueFactory.createEncryptedString("password", true);
+        Map<String, Value> variables = new HashMap<>();
+        variables.put("user", ValueFactory.create("admin"));
+        variables.put("password", password);
+        Context context = new Context(variables);
+
+        assertTrue(context.containsSensitiveData());
+        assertEquals(Collections.singletonList(password), context.getSensitiveValues());
+
+        context.putVariable("password", ValueFactory.create("changed"));
+        assertFalse(context.containsSensitiveData());
+
+        Value token = ValueFactory.createEncryptedString("token", true);
+        context.putLanguageVariable("token", token);
+        assertEquals(Collections.singletonList(token), context.getSensitiveValues());
+
+        context.removeLanguageVariable("token");
+        assertFalse(context.containsSensitiveData());
+    }
+
+    @Test
+    public void testForkedContextTracksItsOwnSensitiveValues() {
+        Value password = ValueFactory.createEncryptedString("password", true);
+        Context context = new Context(new HashMap<String, Value>());
+        context.putVariable("password", password);
+
+        Context forkedContext = context.fork();
+        forkedContext.putVariable("token", ValueFactory.createEncryptedString("token", true));
+
+        assertEquals(Collections.singletonList(password), context.getSensitiveValues());
+        assertEquals(2, forkedContext.getSensitiveValues().size());
+        assertNotSame(password, forkedContext.getVariable("password"));
+        assertEquals(password, forkedContext.getVariable("password"));
+    }
+
+    @Test
+    public void testSensitiveValuesAreTrackedAfterDeserialization() {
+        Context context = new Context(new HashMap<String, Value>());
+        context.putLanguageVariable("token", ValueFactory.createEncryptedString("token", true));
+
+        Context copy = (Context) SerializationUtils.clone(context);
+
+        assertTrue(copy.containsSensitiveData());
+        assertSame(copy.getLanguageVariable("token"), copy.getSensitiveValues().get(0));
+    }
+
+    @Test
+    public void testContextStackIsKeptWhenCollectingSensitiveValues() {
+        Context sensitiveContext = new Context(new HashMap<String, Value>());
+        sensitiveContext.putVariable("password", ValueFactory.createEncryptedString("password", true));
+        Context context = new Context(new HashMap<String, Value>());
+        ContextStack stack = new ContextStack();
+        stack.pushContext(sensitiveContext);
+        stack.pushContext(context);
+
+        assertTrue(stack.containsSensitiveData());
+
+        assertSame(context, stack.popContext());
+        assertSame(sensitiveContext, stack.popContext());
+    }
+}
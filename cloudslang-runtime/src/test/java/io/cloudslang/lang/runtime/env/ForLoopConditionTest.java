@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import org.apache.commons.lang.SerializationUtils;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ForLoopConditionTest {
+
+    @Test
+    public void testIteratesInOrder() {
+        ForLoopCondition loopCondition = new ForLoopCondition(new LinkedHashSet<>(Arrays.asList("a", "b")));
+        assertTrue(loopCondition.hasMore());
+        assertEquals(ValueFactory.create("a"), loopCondition.next());
+        assertEquals(ValueFactory.create("b"), loopCondition.next());
+        assertFalse(loopCondition.hasMore());
+    }
+
+    @Test
+    public void testResumesAfterSerialization() {
+        ForLoopCondition loopCondition = new ForLoopCondition(createItems(3));
+        loopCondition.next();
+
+        ForLoopCondition restored = (ForLoopCondition) SerializationUtils.clone(loopCondition);
+        assertEquals(loopCondition, restored);
+        assertEquals(ValueFactory.create(1), restored.next());
+        assertEquals(ValueFactory.create(2), restored.next());
+        assertFalse(restored.hasMore());
+    }
+
+    @Test
+    public void testRandomAccessItemsAreReadOncePerIteration() {
+        for (int size : new int[]{10000, 100000}) {
+            CountingList items = new CountingList(createItems(size));
+            assertEquals(size, iterate(new ForLoopCondition(items)));
+            assertEquals(size, items.reads);
+            assertEquals(0, items.iterators);
+        }
+    }
+
+    @Test
+    public void testOtherItemsAreCopiedOnce() {
+        for (int size : new int[]{10000, 100000}) {
+            CountingIterable items = new CountingIterable(createItems(size));
+            assertEquals(size, iterate(new ForLoopCondition(items)));
+            assertEquals(size, items.reads);
+            assertEquals(1, items.iterators);
+        }
+    }
+
+    // the step calls hasMore both before and after each iteration
+    private int iterate(LoopCondition loopCondition) {
+        int count = 0;
+        while (loopCondition.hasMore()) {
+            loopCondition.next();
+            loopCondition.hasMore();
+            count++;
+        }
+        return count;
+    }
+
+    private List<Serializable> createItems(int size) {
+        List<Serializable> items = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            Value item = ValueFactory.create(index);
+            items.add(item);
+        }
+        return items;
+    }
+
+    private static class CountingList extends ArrayList<Serializable> {
+
+        private int reads;
+        private int iterators;
+
+        CountingList(List<Serializable> items) {
+            super(items);
+        }
+
+        @Override
+        public Serializable get(int index) {
+            reads++;
+            return super.get(index);
+        }
+
+        @Override
+        public Iterator<Serializable> iterator() {
+            iterators++;
+            return super.iterator();
+        }
+    }
+
+    private static class CountingIterable implements Iterable<Serializable>, Serializable {
+
+        private final List<Serializable> items;
+        private int reads;
+        private int iterators;
+
+        CountingIterable(List<Serializable> items) {
+            this.items = items;
+        }
+
+        @Override
+        public Iterator<Serializable> iterator() {
+            iterators++;
+            final Iterator<Serializable> iterator = items.iterator();
+            return new Iterator<Serializable>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Serializable next() {
+                    reads++;
+                    return iterator.next();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.commons.lang.SerializationUtils;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class LayeredMapTest {
+
+    @Test
+    public void testForkSharesEntriesAndKeepsOwnChanges() {
+        Map<String, String> map = new HashMap<>();
+        map.put("a", "1");
+        map.put("b", "2");
+        Map<String, String> owner = LayeredMap.fork(map);
+        Map<String, String> fork = LayeredMap.fork(owner);
+
+        fork.put("a", "10");
+        fork.put("c", "3");
+        fork.remove("b");
+        owner.put("d", "4");
+
+        assertEquals(map("a", "1", "b", "2", "d", "4"), owner);
+        assertEquals(map("a", "10", "c", "3"), fork);
+        assertEquals(2, fork.size());
+        assertFalse(fork.containsKey("b"));
+        assertNull(fork.get("d"));
+        assertEquals(map("a", "1", "b", "2"), map);
+    }
+
+    @Test
+    public void testRemoveAndPutAgain() {
+        Map<String, String> fork = LayeredMap.fork(map("a", "1"));
+        assertEquals("1", fork.remove("a"));
+        assertNull(fork.remove("a"));
+        assertTrue(fork.isEmpty());
+        fork.put("a", "2");
+        assertEquals(map("a", "2"), fork);
+        fork.clear();
+        assertEquals(0, fork.size());
+        assertFalse(fork.entrySet().iterator().hasNext());
+    }
+
+    @Test
+    public void testDeepForksAreFlattened() {
+        Map<String, String> map = map("a", "0");
+        for (int index = 1; index <= 20; index++) {
+            map = LayeredMap.fork(map);
+            map.put("a", String.valueOf(index));
+            map.put("key" + index, String.valueOf(index));
+        }
+        assertEquals(21, map.size());
+        assertEquals("20", map.get("a"));
+        assertEquals("1", map.get("key1"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSerialization() {
+        Map<String, String> fork = LayeredMap.fork(LayeredMap.fork(map("a", "1", "b", "2")));
+        fork.put("c", "3");
+        fork.remove("a");
+        Map<String, String> copy = (Map<String, String>) SerializationUtils.clone((LayeredMap) fork);
+        assertEquals(map("b", "2", "c", "3"), copy);
+        assertEquals(2, copy.size());
+    }
+
+    @Test
+    public void testContextFork() {
+        Map<String, Value> variables = new HashMap<>();
+        variables.put("var1", ValueFactory.create("value1"));
+        Context context = new Context(variables);
+        context.putLanguageVariable("lang1", ValueFactory.create("value2"));
+
+        Context branch = context.fork();
+        branch.putVariable("var2", ValueFactory.create("branch"));
+        context.putVariable("var3", ValueFactory.create("parent"));
+
+        assertEquals(ValueFactory.create("value1"), branch.getVariable("var1"));
+        assertEquals(ValueFactory.create("value2"), branch.getLanguageVariable("lang1"));
+        assertNull(branch.getVariable("var3"));
+        assertNull(context.getVariable("var2"));
+        assertEquals(2, branch.getImmutableViewOfVariables().size());
+        assertEquals(branch, SerializationUtils.clone(branch));
+    }
+
+    private static Map<String, String> map(String... keysAndValues) {
+        Map<String, String> map = new HashMap<>();
+        for (int index = 0; index < keysAndValues.length; index += 2) {
+            map.put(keysAndValues[index], keysAndValues[index + 1]);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class OverlayMapTest {
+
+    @Test
+    public void testUpperLayersShadowLowerLayers() {
+        Map<String, String> context = map("a", "1", "b", "2");
+        Map<String, String> bound = map("b", "20", "c", "30");
+        Map<String, String> overlay = new OverlayMap<>(context, bound);
+
+        assertEquals("1", overlay.get("a"));
+        assertEquals("20", overlay.get("b"));
+        assertEquals("30", overlay.get("c"));
+        assertNull(overlay.get("d"));
+        assertEquals(map("a", "1", "b", "20", "c", "30"), overlay);
+        assertEquals(3, overlay.size());
+    }
+
+    @Test
+    public void testNullValuesShadowLowerLayers() {
+        Map<String, String> overlay = new OverlayMap<>(map("a", "1"), Collections.singletonMap("a", (String) null));
+        assertTrue(overlay.containsKey("a"));
+        assertNull(overlay.get("a"));
+        assertEquals(1, overlay.size());
+    }
+
+    @Test
+    public void testChangesToLayersAreVisible() {
+        Map<String, String> bound = new HashMap<>();
+        Map<String, String> overlay = new OverlayMap<>(map("a", "1"), null, bound);
+        assertFalse(overlay.containsKey("b"));
+        bound.put("b", "2");
+        assertEquals("2", overlay.get("b"));
+        assertEquals(map("a", "1", "b", "2"), new HashMap<>(overlay));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReadOnly() {
+        new OverlayMap<>(map("a", "1")).put("b", "2");
+    }
+
+    private static Map<String, String> map(String... keysAndValues) {
+        Map<String, String> map = new HashMap<>();
+        for (int index = 0; index < keysAndValues.length; index += 2) {
+            map.put(keysAndValues[index], keysAndValues[index + 1]);
+        }
+        return map;
+    }
+}
@@ -11,11 +11,13 @@ package io.cloudslang.lang.runtime.env;
 
 import configuration.SlangEntitiesSpringConfig;
 import io.cloudslang.lang.entities.SystemProperty;
+import io.cloudslang.lang.entities.bindings.values.DecryptedContents;
 import io.cloudslang.lang.entities.bindings.values.SensitiveValue;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.lang.spi.encryption.Encryption;
 
+import java.io.Serializable;
 import java.util.Map;
 import java.util.Set;
 
@@ -32,6 +34,7 @@ import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -185,6 +188,96 @@ public class RunEnvironmentSensitiveTest {
         testEncrypted(systemProperty1, systemProperty2, callValue1, callValue2, output1, output2, true);
     }
 
+    @Test
+    public void testSensitiveValuesAreDecryptedOncePerStep() {
+        RunEnvironment runEnvironment = new RunEnvironment(Sets.<SystemProperty>newHashSet());
+        CountingSensitiveValue inputDefault = new CountingSensitiveValue("{Encrypted}default");
+
+        runEnvironment.decryptSensitiveData();
+        assertEquals("default", inputDefault.get());
+        assertEquals("default", inputDefault.get());
+        assertEquals(1, inputDefault.decryptions);
+
+        runEnvironment.encryptSensitiveData();
+        assertEquals("default", inputDefault.get());
+        assertEquals(2, inputDefault.decryptions);
+    }
+
+    @Test
+    public void testDecryptedContentsOfFailedStepAreDroppedByNextStep() {
+        RunEnvironment failedRunEnvironment = new RunEnvironment(Sets.<SystemProperty>newHashSet());
+        CountingSensitiveValue inputDefault = new CountingSensitiveValue("{Encrypted}default");
+
+        // the step fails between decrypt and encrypt
+        failedRunEnvironment.decryptSensitiveData();
+        assertEquals("default", inputDefault.get());
+        failedRunEnvironment.closeDecryptedContents();
+        assertFalse(DecryptedContents.isOpen());
+        assertEquals("default", inputDefault.get());
+        assertEquals(2, inputDefault.decryptions);
+
+        // the step fails without closing its contents, the next step on the thread drops them
+        failedRunEnvironment.decryptSensitiveData();
+        assertEquals("default", inputDefault.get());
+        RunEnvironment runEnvironment = new RunEnvironment(Sets.<SystemProperty>newHashSet());
+        runEnvironment.decryptSensitiveData();
+        assertEquals("default", inputDefault.get());
+        assertEquals(4, inputDefault.decryptions);
+        runEnvironment.encryptSensitiveData();
+        assertFalse(DecryptedContents.isOpen());
+    }
+
+    @Test
+    public void testDecryptedContentsAreClosedWhenStepEndsOnAnotherThread() throws InterruptedException {
+        final RunEnvironment runEnvironment = new RunEnvironment(Sets.<SystemProperty>newHashSet());
+        CountingSensitiveValue inputDefault = new CountingSensitiveValue("{Encrypted}default");
+
+        runEnvironment.decryptSensitiveData();
+        assertEquals("default", inputDefault.get());
+        Thread endStep = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                runEnvironment.encryptSensitiveData();
+            }
+        });
+        endStep.start();
+        endStep.join();
+
+        assertFalse(DecryptedContents.isOpen());
+        assertEquals("default", inputDefault.get());
+        assertEquals("default", inputDefault.get());
+        assertEquals(3, inputDefault.decryptions);
+    }
+
+    @Test
+    public void testForkedRunEnvironmentHasOwnSensitiveValues() {
+        RunEnvironment runEnvironment = new RunEnvironment(Sets.<SystemProperty>newHashSet());
+        Map<String, Value> callArguments = Maps.newHashMap();
+        Value callValue = ValueFactory.create("callValue", true);
+        callArguments.put("callValue", callValue);
+        Value plainCallValue = ValueFactory.create("plainCallValue", false);
+        callArguments.put("plainCallValue", plainCallValue);
+        runEnvironment.putCallArguments(callArguments);
+        Map<String, Value> outputs = Maps.newHashMap();
+        Value output = ValueFactory.create("output", true);
+        outputs.put("output", output);
+        runEnvironment.putReturnValues(new ReturnValues(outputs, "result"));
+        runEnvironment.encryptSensitiveData();
+
+        RunEnvironment branchRunEnvironment = runEnvironment.fork();
+        branchRunEnvironment.decryptSensitiveData();
+
+        assertEquals("{Encrypted}xQEBAAAACWNhbGxWYWx1ZQ==", ((SensitiveValue) callValue).getContent());
+        assertEquals("{Encrypted}xQEBAAAABm91dHB1dA==", ((SensitiveValue) output).getContent());
+        Map<String, Value> branchCallArguments = branchRunEnvironment.removeCallArguments();
+        ReturnValues branchReturnValues = branchRunEnvironment.removeReturnValues();
+        assertEquals("callValue", ((SensitiveValue) branchCallArguments.get("callValue")).getContent());
+        assertEquals("output", ((SensitiveValue) branchReturnValues.getOutputs().get("output")).getContent());
+        assertEquals("result", branchReturnValues.getResult());
+        assertSame(plainCallValue, branchCallArguments.get("plainCallValue"));
+        branchRunEnvironment.encryptSensitiveData();
+    }
+
     private void testEncrypted(SystemProperty systemProperty1, SystemProperty systemProperty2,
                                Value callValue1, Value callValue2,
                                Value output1, Value output2, boolean encrypted) {
@@ -209,8 +302,8 @@ public class RunEnvironmentSensitiveTest {
         String ca2 = callValue2.get().toString();
         assertEquals("callValue2", ca2);
 
-        assertEquals(encrypted ? "{Encrypted}rO0ABXQACmNhbGxWYWx1ZTE=" : ca1, callValue1Content);
-        assertEquals(encrypted ? "{Encrypted}rO0ABXQACmNhbGxWYWx1ZTI=" : ca2, callValue2Content);
+        assertEquals(encrypted ? "{Encrypted}xQEBAAAACmNhbGxWYWx1ZTE=" : ca1, callValue1Content);
+        assertEquals(encrypted ? "{Encrypted}xQEBAAAACmNhbGxWYWx1ZTI=" : ca2, callValue2Content);
 
         final String output1Content = ((SensitiveValue) output1).getContent();
         final String output2Content = ((SensitiveValue) output2).getContent();
@@ -220,8 +313,23 @@ public class RunEnvironmentSensitiveTest {
         String o2 = output2.get().toString();
         assertEquals("output2", o2);
 
-        assertEquals(encrypted ? "{Encrypted}rO0ABXQAB291dHB1dDE=" : o1, output1Content);
-        assertEquals(encrypted ? "{Encrypted}rO0ABXQAB291dHB1dDI=" : o2, output2Content);
+        assertEquals(encrypted ? "{Encrypted}xQEBAAAAB291dHB1dDE=" : o1, output1Content);
+        assertEquals(encrypted ? "{Encrypted}xQEBAAAAB291dHB1dDI=" : o2, output2Content);
+    }
+
+    private static class CountingSensitiveValue extends SensitiveValue {
+
+        private int decryptions;
+
+        CountingSensitiveValue(String encryptedContent) {
+            super(encryptedContent, true);
+        }
+
+        @Override
+        protected Serializable decrypt(String content) {
+            decryptions++;
+            return content.substring(ENCYPTED.length());
+        }
     }
 
     @Configuration
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.steps;
+
+import com.hp.oo.sdk.content.annotations.Param;
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import com.hp.oo.sdk.content.plugin.SerializableSessionObject;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static io.cloudslang.score.api.execution.ExecutionParametersConsts.GLOBAL_SESSION_OBJECT;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CloudSlangJavaExecutionParameterProviderTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void testParametersAreBoundOnEveryCall() throws Exception {
+        Method method = Actions.class.getMethod("action", String.class, GlobalSessionObject.class, Integer.class);
+        Map<String, Map<String, Object>> nonSerializableExecutionData = new HashMap<>();
+        nonSerializableExecutionData.put(GLOBAL_SESSION_OBJECT, new HashMap<String, Object>());
+
+        Object[] args1 = createProvider(createContext("value1", 1), nonSerializableExecutionData)
+                .getExecutionParameters(method);
+        Object[] args2 = createProvider(createContext("value2", null), nonSerializableExecutionData)
+                .getExecutionParameters(method);
+
+        assertEquals(3, args1.length);
+        assertEquals("value1", args1[0]);
+        assertTrue(args1[1] instanceof GlobalSessionObject);
+        assertEquals(1, args1[2]);
+        assertArrayEquals(new Object[]{"value2", args1[1], null}, args2);
+        assertSame(args1[1], nonSerializableExecutionData.get(GLOBAL_SESSION_OBJECT).get("session"));
+    }
+
+    @Test
+    public void testParameterTypeMismatch() throws Exception {
+        Method method = Actions.class.getMethod("action", String.class, GlobalSessionObject.class, Integer.class);
+        Map<String, Serializable> context = createContext("value", null);
+        context.put("number", "1");
+
+        exception.expect(RuntimeException.class);
+        exception.expectMessage("Parameter number expects type java.lang.Integer. Actual type is java.lang.String");
+        createProvider(context, new HashMap<String, Map<String, Object>>()).getExecutionParameters(method);
+    }
+
+    @Test
+    public void testParameterWithoutParamAnnotation() throws Exception {
+        Method method = Actions.class.getMethod("actionWithoutParam", String.class, String.class);
+
+        for (int call = 0; call < 2; call++) {
+            try {
+                createProvider(createContext("value", null), new HashMap<String, Map<String, Object>>())
+                        .getExecutionParameters(method);
+            } catch (RuntimeException ex) {
+                assertEquals("All action arguments should be annotated with @Param", ex.getMessage());
+                continue;
+            }
+            throw new AssertionError("Expected an exception on call " + call);
+        }
+    }
+
+    private CloudSlangJavaExecutionParameterProvider createProvider(
+            Map<String, Serializable> context, Map<String, Map<String, Object>> nonSerializableExecutionData) {
+        return new CloudSlangJavaExecutionParameterProvider(new HashMap<String, SerializableSessionObject>(),
+                context, nonSerializableExecutionData, "node", 1);
+    }
+
+    private Map<String, Serializable> createContext(String text, Integer number) {
+        Map<String, Serializable> context = new HashMap<>();
+        context.put("text", text);
+        context.put("number", number);
+        return context;
+    }
+
+    public static class Actions {
+
+        public Map<String, String> action(@Param("text") String text,
+                                          @Param("session") GlobalSessionObject session,
+                                          @Param("number") Integer number) {
+            return new HashMap<>();
+        }
+
+        public Map<String, String> actionWithoutParam(@Param("text") String text, String other) {
+            return new HashMap<>();
+        }
+    }
+}
@@ -18,6 +18,7 @@ import io.cloudslang.lang.entities.ScoreLangConstants;
 import io.cloudslang.lang.entities.bindings.Input;
 import io.cloudslang.lang.entities.bindings.Output;
 import io.cloudslang.lang.entities.bindings.Result;
+import io.cloudslang.lang.entities.bindings.values.DecryptedContents;
 import io.cloudslang.lang.entities.bindings.values.SensitiveValue;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
@@ -166,6 +167,24 @@ public class ExecutableStepsTest {
             .assertEquals(SensitiveValue.SENSITIVE_VALUE_MASK, secondInput.getValue());
     }
 
+    @Test
+    public void testStartExecutableFailureClosesDecryptedContents() throws Exception {
+        List<Input> inputs = singletonList(new Input.InputBuilder("failing_input", "${failing}").build());
+        RunEnvironment runEnv = new RunEnvironment();
+        when(inputsBinding.bindInputs(eq(inputs), anyMap(), anySet()))
+            .thenThrow(new RuntimeException("input binding failed"));
+
+        runEnv.decryptSensitiveData();
+        Assert.assertTrue(DecryptedContents.isOpen());
+        try {
+            executableSteps.startExecutable(inputs, runEnv, new HashMap<String, Value>(),
+                new ExecutionRuntimeServices(), "", 2L, ExecutableType.FLOW);
+            Assert.fail("start executable should fail");
+        } catch (RuntimeException e) {
+            Assert.assertFalse(DecryptedContents.isOpen());
+        }
+    }
+
     @Test
     public void testStartExecutableSetNextPosition() throws Exception {
         List<Input> inputs = Arrays.asList();
@@ -28,6 +28,7 @@ import io.cloudslang.lang.runtime.bindings.OutputsBinding;
 import io.cloudslang.lang.runtime.bindings.ParallelLoopBinding;
 import io.cloudslang.lang.runtime.bindings.scripts.ScriptEvaluator;
 import io.cloudslang.lang.runtime.env.Context;
+import io.cloudslang.lang.runtime.env.ParallelLoopState;
 import io.cloudslang.lang.runtime.env.ReturnValues;
 import io.cloudslang.lang.runtime.env.RunEnvironment;
 import io.cloudslang.lang.runtime.events.LanguageEventData;
@@ -54,6 +55,7 @@ import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -66,6 +68,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import static org.python.google.common.collect.Lists.newArrayList;
 
@@ -135,7 +138,9 @@ public class ParallelLoopStepsTest {
             1234L,
             5L,
             branchBeginStepId,
-            refId
+            refId,
+            null,
+            null
         );
 
         // verify expected behaviour
@@ -191,7 +196,9 @@ public class ParallelLoopStepsTest {
             1234L,
             5L,
             branchBeginStepId,
-            refId
+            refId,
+            null,
+            null
         );
 
         // verify expected behaviour
@@ -211,6 +218,93 @@ public class ParallelLoopStepsTest {
         Assert.assertEquals(5, (long) runEnvironment.removeNextStepPosition());
     }
 
+    @Test
+    public void testBranchesAreCreatedInWindowsOfMaxParallelism() throws Exception {
+        // prepare arguments
+        ListLoopStatement parallelLoopStatement = new ListLoopStatement("varName", "expression",
+            new HashSet<ScriptFunction>(), new HashSet<String>(), true);
+
+        RunEnvironment runEnvironment = new RunEnvironment();
+        Context context = new Context(new HashMap<String, Value>());
+        runEnvironment.getStack().pushContext(context);
+
+        String nodeName = "nodeName";
+        String refId = "branch_id";
+        Long addBranchesStepId = 1L;
+        Long branchBeginStepId = 2L;
+        List<Output> stepPublishValues =
+            newArrayList(new Output("outputName", ValueFactory.create("outputExpression")));
+        Map<String, ResultNavigation> stepNavigationValues = new HashMap<>();
+        stepNavigationValues.put(ScoreLangConstants.SUCCESS_RESULT,
+            new ResultNavigation(0L, ScoreLangConstants.SUCCESS_RESULT));
+
+        // prepare mocks
+        List<Value> splitData = newArrayList(ValueFactory.create(1),
+            ValueFactory.create(2), ValueFactory.create(3));
+        when(parallelLoopBinding.bindParallelLoopList(eq(parallelLoopStatement),
+            eq(context), eq(runEnvironment.getSystemProperties()), eq(nodeName)))
+            .thenReturn(splitData);
+        Map<String, Serializable> runtimeContext1 = new HashMap<>();
+        runtimeContext1.put("branch1Output", 1);
+        runtimeContext1.put(ScoreLangConstants.BRANCH_RESULT_KEY, SUCCESS_RESULT);
+        Map<String, Serializable> runtimeContext2 = new HashMap<>();
+        runtimeContext2.put("branch2Output", 2);
+        runtimeContext2.put(ScoreLangConstants.BRANCH_RESULT_KEY, SUCCESS_RESULT);
+        Map<String, Serializable> runtimeContext3 = new HashMap<>();
+        runtimeContext3.put("branch3Output", 3);
+        runtimeContext3.put(ScoreLangConstants.BRANCH_RESULT_KEY, SUCCESS_RESULT);
+
+        // first window
+        ExecutionRuntimeServices firstWindowServices = mock(ExecutionRuntimeServices.class);
+        parallelLoopSteps.addBranches(parallelLoopStatement, runEnvironment, firstWindowServices, nodeName,
+            1234L, 5L, branchBeginStepId, refId, 2, addBranchesStepId);
+        //noinspection unchecked
+        verify(firstWindowServices, times(2)).addBranch(eq(branchBeginStepId), eq(refId), any(Map.class));
+        Assert.assertEquals(5, (long) runEnvironment.removeNextStepPosition());
+
+        parallelLoopSteps.joinBranches(runEnvironment, createFinishedBranchesMock(runtimeContext1, runtimeContext2),
+            stepPublishValues, stepNavigationValues, nodeName);
+        Assert.assertEquals(addBranchesStepId, runEnvironment.removeNextStepPosition());
+        Assert.assertNull(runEnvironment.removeReturnValues());
+        verifyZeroInteractions(outputsBinding);
+
+        // second window
+        ExecutionRuntimeServices secondWindowServices = mock(ExecutionRuntimeServices.class);
+        parallelLoopSteps.addBranches(parallelLoopStatement, runEnvironment, secondWindowServices, nodeName,
+            1234L, 5L, branchBeginStepId, refId, 2, addBranchesStepId);
+        ArgumentCaptor<Map> branchContextArgumentCaptor = ArgumentCaptor.forClass(Map.class);
+        //noinspection unchecked
+        verify(secondWindowServices).addBranch(eq(branchBeginStepId), eq(refId), branchContextArgumentCaptor.capture());
+        RunEnvironment branchRunEnvironment =
+            (RunEnvironment) branchContextArgumentCaptor.getValue().get(ScoreLangConstants.RUN_ENV);
+        Assert.assertEquals("0.2", branchRunEnvironment.getExecutionPath().getParentPath());
+        Assert.assertEquals(splitData.get(2),
+            branchRunEnvironment.getStack().popContext().getImmutableViewOfVariables().get("varName"));
+        verify(parallelLoopBinding, times(1)).bindParallelLoopList(eq(parallelLoopStatement),
+            eq(context), eq(runEnvironment.getSystemProperties()), eq(nodeName));
+        Assert.assertEquals(5, (long) runEnvironment.removeNextStepPosition());
+
+        parallelLoopSteps.joinBranches(runEnvironment, createFinishedBranchesMock(runtimeContext3),
+            stepPublishValues, stepNavigationValues, nodeName);
+
+        // verify expected behaviour
+        Assert.assertEquals(0, (long) runEnvironment.removeNextStepPosition());
+        ArgumentCaptor<Map> aggregateContextArgumentCaptor = ArgumentCaptor.forClass(Map.class);
+        //noinspection unchecked
+        verify(outputsBinding).bindOutputs(
+            aggregateContextArgumentCaptor.capture(),
+            eq(runEnvironment.getSystemProperties()),
+            eq(stepPublishValues),
+            eq(Collections.<String, Value>emptyMap())
+        );
+        @SuppressWarnings("unchecked")
+        Map<String, Value> aggregateContext = aggregateContextArgumentCaptor.getValue();
+        Assert.assertEquals(newArrayList(runtimeContext1, runtimeContext2, runtimeContext3),
+            aggregateContext.get(RuntimeConstants.BRANCHES_CONTEXT_KEY).get());
+        Assert.assertNull(runEnvironment.getStack().popContext()
+            .getLanguageVariable(ParallelLoopState.PARALLEL_LOOP_STATE_KEY));
+    }
+
     @Test
     public void testJoinBranchesPublish() throws Exception {
         // prepare arguments
@@ -258,7 +352,8 @@ public class ParallelLoopStepsTest {
         verify(outputsBinding).bindOutputs(
             aggregateContextArgumentCaptor.capture(),
             eq(runEnvironment.getSystemProperties()),
-            eq(stepPublishValues)
+            eq(stepPublishValues),
+            eq(Collections.<String, Value>emptyMap())
         );
 
         @SuppressWarnings("unchecked")
@@ -524,6 +619,25 @@ public class ParallelLoopStepsTest {
         return executionRuntimeServices;
     }
 
+    @SafeVarargs
+    private final ExecutionRuntimeServices createFinishedBranchesMock(Map<String, Serializable>... runtimeContexts) {
+        ExecutionRuntimeServices executionRuntimeServices = mock(ExecutionRuntimeServices.class);
+        List<EndBranchDataContainer> branchesContainers = newArrayList();
+        for (Map<String, Serializable> runtimeContext : runtimeContexts) {
+            RunEnvironment branchRuntimeEnvironment = new RunEnvironment();
+            branchRuntimeEnvironment.getExecutionPath().down();
+            branchRuntimeEnvironment.getStack().pushContext(createContext(runtimeContext));
+            branchRuntimeEnvironment.putReturnValues(new ReturnValues(new HashMap<String, Value>(),
+                ScoreLangConstants.SUCCESS_RESULT));
+            Map<String, Serializable> branchContext = new HashMap<>();
+            branchContext.put(ScoreLangConstants.RUN_ENV, branchRuntimeEnvironment);
+            branchesContainers.add(
+                new EndBranchDataContainer(branchContext, new HashMap<String, Serializable>(), null));
+        }
+        when(executionRuntimeServices.getFinishedChildBranchesData()).thenReturn(branchesContainers);
+        return executionRuntimeServices;
+    }
+
     private Context createContext(Map<String, Serializable> runtimeContext) {
         Map<String, Value> context = new HashMap<>(runtimeContext.size());
         for (Map.Entry<String, Serializable> entry : runtimeContext.entrySet()) {